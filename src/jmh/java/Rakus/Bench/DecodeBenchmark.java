@@ -0,0 +1,76 @@
+package Rakus.Bench;
+
+import Models.GameStateDto;
+import Models.StateFrame;
+import Rakus.Struct.WorldModel;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DecodeBenchmark {
+    // Compares the GameStateDto path against the streaming StateFrame decoder on recorded payloads or a seeded synthetic match
+    //   mvn -P jmh package && java -cp target/benchmarks.jar Rakus.Bench.DecodeBenchmark [payloads.jsonl ...]
+    private static final int WARMUP_ROUNDS = 20, MEASURE_ROUNDS = 20;
+
+    public static void main(String[] args) throws IOException {
+        var payloads = new ArrayList<String>();
+        for (var arg : args)
+            payloads.addAll(Files.readAllLines(Path.of(arg)));
+        if (payloads.isEmpty()) {
+            var generator = new WorldGenerator(42, 1500, 8, 0.1, 1000);
+            var gson = new Gson();
+            for (int i = 0; i < 200; i++)
+                payloads.add(gson.toJson(generator.next()));
+        }
+        System.out.printf("[INFO] %d payloads, %d bytes on average%n", payloads.size(),
+                payloads.stream().mapToLong(String::length).sum() / payloads.size());
+
+        var gson = new Gson();
+        run("dto decode", payloads, payload -> gson.fromJson(payload, GameStateDto.class));
+        run("frame decode", payloads, payload -> gson.fromJson(payload, StateFrame.class));
+        run("dto decode + apply", payloads, new Step() {
+            final WorldModel model = new WorldModel();
+
+            public Object run(String payload) {
+                return model.apply(gson.fromJson(payload, GameStateDto.class));
+            }
+        });
+        run("frame decode + apply", payloads, new Step() {
+            final WorldModel model = new WorldModel();
+
+            public Object run(String payload) {
+                return model.apply(gson.fromJson(payload, StateFrame.class));
+            }
+        });
+    }
+
+    private interface Step {
+        Object run(String payload);
+    }
+
+    private static void run(String name, List<String> payloads, Step step) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++)
+            for (var payload : payloads) step.run(payload);
+
+        long bytes = allocatedBytes(), start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++)
+            for (var payload : payloads) step.run(payload);
+        long elapsed = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        long count = (long) MEASURE_ROUNDS * payloads.size();
+        System.out.printf("[INFO] %-22s %9.1f us/payload %12d bytes/payload%n", name, elapsed / 1000.0 / count, bytes / count);
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Bytes allocated so far by the current thread; the call itself allocates a little (see AllocationTest)
+    static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
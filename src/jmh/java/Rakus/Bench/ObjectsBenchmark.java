@@ -0,0 +1,99 @@
+package Rakus.Bench;
+
+import Models.GameObject;
+import Rakus.Struct.Effects;
+import Rakus.Struct.HazardField;
+import Rakus.Util.Objects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjectsBenchmark {
+    // Single queries and helpers used by the bot states, over the objects of a synthetic world
+    private GameObject food;
+    private UUID playerId;
+    private List<Integer> playerState;
+    private int flags;
+    private long[] distances;
+    private int[] headings;
+    private HazardField hazards;
+
+    @Setup(Level.Trial)
+    public void setUp(WorldState world) {
+        food = Objects.findClosest(world.botService.getGameState(), world.bot, Objects::isFood);
+        playerId = world.generator.getPlayerId(0);
+        playerState = world.dto.getPlayerObjects().get(playerId.toString());
+        distances = new long[world.botService.getGameState().getObjectSnapshot().count()];
+        headings = new int[distances.length];
+        hazards = new HazardField();
+        hazards.update(world.botService.getGameState(), world.bot);
+    }
+
+    @Benchmark
+    public GameObject findClosest(WorldState world) {
+        return Objects.findClosest(world.botService.getGameState(), world.bot, Objects::isFood);
+    }
+
+    @Benchmark
+    public List<GameObject> findWithin(WorldState world) {
+        return Objects.findWithin(world.botService.getGameState(), world.bot, Objects::isFood, world.worldRadius / 5.0);
+    }
+
+    @Benchmark
+    public int priorityPenalty(WorldState world) {
+        return Objects.priorityPenalty(world.botService.getGameState(), food, world.bot);
+    }
+
+    @Benchmark
+    public int hazardPenalty() {
+        return hazards.penalty(food);
+    }
+
+    @Benchmark
+    public void headings(WorldState world, Blackhole bh) {
+        int between = Objects.headingBetween(world.bot, food);
+        bh.consume(Objects.headingFromOrigin(food));
+        bh.consume(Objects.headingDiff(between, world.bot.currentHeading));
+        bh.consume(Objects.headingMedian(between, Objects.headingReverse(between)));
+    }
+
+    @Benchmark
+    public void snapshotKernels(WorldState world, Blackhole bh) {
+        var snapshot = world.botService.getGameState().getObjectSnapshot();
+        var pos = world.bot.getPosition();
+        snapshot.distancesSq(pos.x, pos.y, distances);
+        snapshot.headingsFrom(pos.x, pos.y, headings);
+        bh.consume(distances);
+        bh.consume(headings);
+    }
+
+    @Benchmark
+    public Object effectsFromFlags() {
+        flags = (flags + 1) & 0b11111;
+        return Effects.fromFlags(flags);
+    }
+
+    @Benchmark
+    public GameObject fromStateList() {
+        return GameObject.FromStateList(playerId, playerState);
+    }
+}
@@ -0,0 +1,31 @@
+package Rakus.Bench;
+
+import Models.PlayerAction;
+import Rakus.Struct.BotState;
+import Rakus.Struct.TickContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+    // One full decision over a fixed game state: scoring every bot state, then the selected action and ANY, like
+    // BotService.computeNextPlayerAction does (without its per-tick bookkeeping)
+    @Benchmark
+    public PlayerAction decide(WorldState world) {
+        var ctx = new TickContext(world.botService);
+        var state = BotState.getNextState(ctx);
+        var action = state.func.get(ctx, new PlayerAction());
+        return BotState.ANY.func.get(ctx, action);
+    }
+}
@@ -0,0 +1,49 @@
+package Rakus.Bench;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameStateDto;
+import Models.Position;
+import Rakus.Log.Log;
+import Rakus.Struct.WorldModel;
+import Services.BotService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class WorldState {
+    // A seeded synthetic world loaded into a bot service, with the bot registered as the first generated player. Logging is switched
+    // off so that benchmarks measure the decision path rather than the log writer
+    @Param({"42"})
+    public long seed;
+    @Param({"500", "2000"})
+    public int objectCount;
+    @Param({"8"})
+    public int playerCount;
+    @Param({"0.1"})
+    public double hazardDensity;
+    @Param({"1000"})
+    public int worldRadius;
+
+    public WorldGenerator generator;
+    public BotService botService;
+    public GameObject bot;
+    public GameStateDto dto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Log.configure("*=OFF");
+        generator = new WorldGenerator(seed, objectCount, playerCount, hazardDensity, worldRadius);
+        // Let the world evolve for a while so that objects are spread like in a running match
+        for (int i = 0; i < 10; i++) generator.next();
+        dto = generator.current();
+
+        botService = new BotService();
+        botService.setBot(new GameObject(generator.getPlayerId(0), 10, 20, 0, new Position(), ObjectTypes.PLAYER, 0, 0, false, 0, 0));
+        botService.setGameState(new WorldModel().apply(dto));
+        bot = botService.getBot();
+    }
+}
@@ -15,15 +15,23 @@ public enum ObjectTypes {
 
     public final Integer value;
 
+    // Types by wire value; values() clones its array on every call
+    private static final ObjectTypes[] BY_VALUE = new ObjectTypes[values().length + 1];
+
+    static {
+        for (ObjectTypes objectType : values()) BY_VALUE[objectType.value] = objectType;
+    }
+
     ObjectTypes(Integer value) {
         this.value = value;
     }
 
     public static ObjectTypes valueOf(Integer value) {
-        for (ObjectTypes objectType : ObjectTypes.values()) {
-            if (objectType.value == value) return objectType;
-        }
+        return valueOf(value.intValue());
+    }
 
-        throw new IllegalArgumentException("Value not found");
+    public static ObjectTypes valueOf(int value) {
+        if (value < 0 || value >= BY_VALUE.length || BY_VALUE[value] == null) throw new IllegalArgumentException("Value not found");
+        return BY_VALUE[value];
     }
 }
\ No newline at end of file
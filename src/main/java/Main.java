@@ -1,26 +1,48 @@
-import Enums.ObjectTypes;
-import Models.GameObject;
-import Models.GameState;
-import Models.GameStateDto;
-import Models.Position;
-import Services.BotService;
-import com.microsoft.signalr.HubConnection;
-import com.microsoft.signalr.HubConnectionBuilder;
-import com.microsoft.signalr.HubConnectionState;
+import Rakus.Hub.WireFormat;
+import Rakus.Log.Log;
+import Rakus.Plan.Planner;
+import Rakus.Struct.SharedWorld;
+import Rakus.Util.WaitStrategy;
+import Rakus.Vars;
+import Services.BotClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
     public static void main(String[] args) throws Exception {
         Logger logger = LoggerFactory.getLogger(Main.class);
-        BotService botService = new BotService();
+        WaitStrategy waitStrategy = WaitStrategy.fromName(System.getenv("RAKUS_WAIT_STRATEGY"));
+        // Hub protocol: RAKUS_HUB_PROTOCOL=messagepack receives game states in binary instead of JSON
+        WireFormat wireFormat = WireFormat.fromName(System.getenv("RAKUS_HUB_PROTOCOL"));
+        ForkJoinPool evalPool = null;
+        String evalThreads = System.getenv("RAKUS_EVAL_THREADS");
+        if (evalThreads != null && !evalThreads.isBlank() && Integer.parseInt(evalThreads.trim()) > 1) {
+            // Score bot states in parallel on a bounded pool instead of serially on the decision thread; shared by every hosted bot
+            evalPool = new ForkJoinPool(Integer.parseInt(evalThreads.trim()));
+        }
+        // Planner mode: RAKUS_PLAN_BUDGET_MS > 0 lets a lookahead search refine each tick's movement within that many milliseconds
+        String planBudget = System.getenv("RAKUS_PLAN_BUDGET_MS");
+        long planBudgetNanos = planBudget != null && !planBudget.isBlank() ? (long) (Double.parseDouble(planBudget.trim()) * 1_000_000L) : 0;
+        // Time a tick may take before less critical work is shed; defaults to Vars.TICK_BUDGET_NANOS
+        String tickBudget = System.getenv("RAKUS_TICK_BUDGET_MS");
+        long tickBudgetNanos = tickBudget != null && !tickBudget.isBlank() ? (long) (Double.parseDouble(tickBudget.trim()) * 1_000_000L) : Vars.TICK_BUDGET_NANOS;
+        // Lazy decoding: RAKUS_LAZY_DECODE_RADIUS > 0 fully decodes only the game objects within that distance of our bots
+        String lazyDecodeRadius = System.getenv("RAKUS_LAZY_DECODE_RADIUS");
+        double interestRadius = lazyDecodeRadius != null && !lazyDecodeRadius.isBlank() ? Double.parseDouble(lazyDecodeRadius.trim()) : 0;
         String token = System.getenv("Token");
         token = (token != null) ? token : UUID.randomUUID().toString();
+        String recordPath = System.getenv("RAKUS_RECORD");
+        // Host mode: RAKUS_HOST_BOTS > 1 runs that many bots in this JVM, each with its own connection and tokens of their own
+        String hostBots = System.getenv("RAKUS_HOST_BOTS");
+        int bots = hostBots != null && !hostBots.isBlank() ? Integer.parseInt(hostBots.trim()) : 1;
 
         String environmentIp = System.getenv("RUNNER_IPV4");
 
@@ -29,72 +51,30 @@ public class Main {
 
         String url = ip + ":" + "5000" + "/runnerhub";
 
-        HubConnection hubConnection = HubConnectionBuilder.create(url)
-                .build();
-
-        hubConnection.on("Disconnect", (id) -> {
-            System.out.println("[INFO] Disconnected:");
-
-            hubConnection.stop();
-        }, UUID.class);
-
-        hubConnection.on("Registered", (id) -> {
-            System.out.println("[INFO] Registered with the runner " + id);
-
-            Position position = new Position();
-            GameObject bot = new GameObject(id, 10, 20, 0, position, ObjectTypes.PLAYER, 0, 0, false, 0, 0);
-            botService.setBot(bot);
-        }, UUID.class);
-
-        hubConnection.on("ReceiveGameState", (gameStateDto) -> {
-            GameState gameState = new GameState();
-            gameState.world = gameStateDto.getWorld();
-
-            for (Map.Entry<String, List<Integer>> objectEntry : gameStateDto.getGameObjects().entrySet()) {
-                gameState.getGameObjects().add(GameObject.FromStateList(UUID.fromString(objectEntry.getKey()), objectEntry.getValue()));
-            }
-
-            for (Map.Entry<String, List<Integer>> objectEntry : gameStateDto.getPlayerObjects().entrySet()) {
-                gameState.getPlayerGameObjects().add(GameObject.FromStateList(UUID.fromString(objectEntry.getKey()), objectEntry.getValue()));
-            }
-
-            botService.setGameState(gameState);
-        }, GameStateDto.class);
-
-        hubConnection.on("ReceiveGameComplete", (string) -> {
-            System.out.println("[INFO] Game over; did I win?");
-            System.out.println("[INFO] Game completed with message: " + string);
-        }, String.class);
-
-        hubConnection.on("ReceivePlayerConsumed", () -> {
-            System.out.println("[INFO] Oh no! I've been consumed!");
-        });
-
-        hubConnection.start().blockingAwait();
-
-        Thread.sleep(1000);
-        System.out.println("[INFO] Registering with the runner...");
-        hubConnection.send("Register", token, "Rakus");
-
-        // This is a blocking call
-        hubConnection.start().subscribe(() -> {
-            while (hubConnection.getConnectionState() == HubConnectionState.CONNECTED) {
-                Thread.sleep(20);
-
-                GameObject bot = botService.getBot();
-                if (bot == null) {
-                    continue;
-                }
-
-                botService.getPlayerAction().setPlayerId(bot.getId());
-                botService.computeNextPlayerAction(botService.getPlayerAction());
-                if (hubConnection.getConnectionState() == HubConnectionState.CONNECTED) {
-                    var action = botService.getPlayerAction();
-                    hubConnection.send("SendPlayerAction", action);
-                }
+        // Every hosted bot joins the same match, so they all share one decoded world
+        SharedWorld sharedWorld = new SharedWorld();
+        sharedWorld.setInterest(interestRadius);
+        if (bots <= 1) {
+            BotClient client = new BotClient(url, token, "Rakus", sharedWorld, waitStrategy, wireFormat, evalPool,
+                    recordPath != null && !recordPath.isBlank() ? Path.of(recordPath) : null);
+            client.getBotService().getScheduler().setBudgetNanos(tickBudgetNanos);
+            if (planBudgetNanos > 0) client.getBotService().setPlanner(new Planner(planBudgetNanos, evalPool));
+            client.run();
+        } else {
+            // Decision loops block, so each bot gets a pool thread of its own
+            ExecutorService pool = Executors.newFixedThreadPool(bots);
+            for (int i = 1; i <= bots; i++) {
+                Path botRecordPath = recordPath != null && !recordPath.isBlank() ? Path.of(recordPath + "." + i) : null;
+                BotClient client = new BotClient(url, UUID.randomUUID().toString(), "Rakus" + i, sharedWorld, waitStrategy, wireFormat, evalPool,
+                        botRecordPath);
+                client.getBotService().getScheduler().setBudgetNanos(tickBudgetNanos);
+                if (planBudgetNanos > 0) client.getBotService().setPlanner(new Planner(planBudgetNanos, evalPool));
+                pool.submit(client);
             }
-        });
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
 
-        hubConnection.stop();
+        Log.flush(Vars.WAIT_TIMEOUT_NANOS);
     }
 }
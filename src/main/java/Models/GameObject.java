@@ -4,31 +4,42 @@ import Enums.ObjectTypes;
 import Rakus.Struct.Effects;
 import Rakus.Vars;
 
-import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
 public class GameObject {
-    public UUID id;
-    public Integer size;
-    public Integer speed;
-    public Integer currentHeading;
+    // Attributes are primitive and effects are kept as the state list's bit flags (see Effects), so updating an object in place from
+    // a received state never allocates. The id is kept as the two halves of its UUID; a UUID object is only built on request
+    public long idHigh;
+    public long idLow;
+    private UUID id;
+    public int size;
+    public int speed;
+    public int currentHeading;
     public Position position;
     public ObjectTypes gameObjectType;
-    public EnumSet<Effects> activeEffects;
-    public Integer torpedoCharge;
-    public Boolean hasSupernova;
-    public Integer teleporterCharge;
-    public Integer shieldCharge;
+    public int activeEffects;
+    public int torpedoCharge;
+    public boolean hasSupernova;
+    public int teleporterCharge;
+    public int shieldCharge;
+    // Size, speed and heading of an object updated lazily, kept as received until first read (see updateLazilyFromStateArray)
+    private final int[] raw = new int[3];
+    private boolean lazy;
 
-    public GameObject(UUID id, Integer size, Integer speed, Integer currentHeading, Position position, ObjectTypes gameObjectType, Integer effects, Integer torpedoCharge, Boolean hasSupernova, Integer teleporterCharge, Integer shieldCharge) {
-        this.id = id;
+    // Empty object, e.g. a slot to be filled with setFromStateArray
+    public GameObject() {
+        this.position = new Position();
+    }
+
+    public GameObject(UUID id, int size, int speed, int currentHeading, Position position, ObjectTypes gameObjectType, int effects, int torpedoCharge, boolean hasSupernova, int teleporterCharge, int shieldCharge) {
+        setId(id);
         this.size = size;
         this.speed = speed;
         this.currentHeading = currentHeading;
         this.position = position;
         this.gameObjectType = gameObjectType;
-        this.activeEffects = Effects.fromFlags(effects);
+        this.activeEffects = effects;
         this.torpedoCharge = torpedoCharge;
         this.hasSupernova = hasSupernova;
         this.teleporterCharge = teleporterCharge;
@@ -36,48 +47,186 @@ public class GameObject {
     }
 
     public static GameObject FromStateList(UUID id, List<Integer> stateList) {
-        Position position = new Position(stateList.get(4), stateList.get(5));
-        Integer
-                effects = 0,
-                torpedoCharge = 0,
-                teleporterCharge = 0,
-                shieldCharge = 0;
-        boolean hasSupernova = false;
-        if (stateList.size() == Vars.PLAYER_ATTRIB_COUNT) {
-            effects = stateList.get(6);
-            torpedoCharge = stateList.get(7);
-            hasSupernova = stateList.get(8) != 0;
-            teleporterCharge = stateList.get(9);
-            shieldCharge = stateList.get(10);
-        }
+        var object = new GameObject();
+        object.setFromStateList(id.getMostSignificantBits(), id.getLeastSignificantBits(), stateList);
+        return object;
+    }
+
+    // Builds a game object from attributes stored in a primitive array (see StateFrame.Section)
+    public static GameObject FromStateArray(UUID id, int[] state, int offset, int length) {
+        var object = new GameObject();
+        object.setFromStateArray(id.getMostSignificantBits(), id.getLeastSignificantBits(), state, offset, length);
+        return object;
+    }
+
+    // Turns this object into another one, e.g. when a recycled slot is reused for a new UUID
+    public void setFromStateList(long idHigh, long idLow, List<Integer> stateList) {
+        setId(idHigh, idLow);
+        updateFromStateList(stateList);
+    }
+
+    // Turns this object into another one from a primitive array, e.g. when a recycled slot is reused for a new UUID
+    public void setFromStateArray(long idHigh, long idLow, int[] state, int offset, int length) {
+        setId(idHigh, idLow);
+        updateFromStateArray(state, offset, length);
+    }
+
+    // Turns this object into another game object, decoding only its type and position (see updateLazilyFromStateArray)
+    public void setLazilyFromStateArray(long idHigh, long idLow, int[] state, int offset, int length) {
+        setId(idHigh, idLow);
+        // A recycled object may have been a player
+        activeEffects = 0;
+        torpedoCharge = 0;
+        hasSupernova = false;
+        teleporterCharge = 0;
+        shieldCharge = 0;
+        updateLazilyFromStateArray(state, offset, length);
+    }
+
+    // Overwrites this object's attributes in place from a state list (keeping its UUID); returns whether any attribute changed
+    public boolean updateFromStateList(List<Integer> stateList) {
+        if (lazy) settle();
+        boolean isPlayer = stateList.size() == Vars.PLAYER_ATTRIB_COUNT;
+        return update(stateList.get(0), stateList.get(1), stateList.get(2), ObjectTypes.valueOf(stateList.get(3)), stateList.get(4), stateList.get(5),
+                isPlayer ? stateList.get(6) : 0, isPlayer ? stateList.get(7) : 0, isPlayer && stateList.get(8) != 0,
+                isPlayer ? stateList.get(9) : 0, isPlayer ? stateList.get(10) : 0);
+    }
+
+    // Overwrites this object's attributes in place from a primitive array (keeping its UUID); returns whether any attribute changed
+    public boolean updateFromStateArray(int[] state, int offset, int length) {
+        if (lazy) settle();
+        boolean isPlayer = length == Vars.PLAYER_ATTRIB_COUNT;
+        return update(state[offset], state[offset + 1], state[offset + 2], ObjectTypes.valueOf(state[offset + 3]), state[offset + 4], state[offset + 5],
+                isPlayer ? state[offset + 6] : 0, isPlayer ? state[offset + 7] : 0, isPlayer && state[offset + 8] != 0,
+                isPlayer ? state[offset + 9] : 0, isPlayer ? state[offset + 10] : 0);
+    }
+
+    // Overwrites only the type and position of a game object (not a player) from a primitive array, leaving its size, speed and heading
+    // as received until first read; returns whether any attribute changed. Decoding on read is not thread-safe, so the thread that
+    // applied the state must decode the object (see decode) before other threads may read it
+    public boolean updateLazilyFromStateArray(int[] state, int offset, int length) {
+        var type = ObjectTypes.valueOf(state[offset + 3]);
+        int x = state[offset + 4], y = state[offset + 5];
+        boolean moved = gameObjectType != type || position.x != x || position.y != y;
+        gameObjectType = type;
+        position.x = x;
+        position.y = y;
+
+        boolean rawChanged = lazy
+                ? raw[0] != state[offset] || raw[1] != state[offset + 1] || raw[2] != state[offset + 2]
+                : size != state[offset] || speed != state[offset + 1] || currentHeading != state[offset + 2];
+        if (rawChanged) System.arraycopy(state, offset, raw, 0, 3);
+        if (rawChanged) lazy = true;
+        return moved || rawChanged;
+    }
+
+    // Whether this object's size, speed and heading have not been decoded yet
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    // Size, speed and heading as received, without decoding them
+    public int receivedSize() {
+        return lazy ? raw[0] : size;
+    }
 
-        return new GameObject(id, stateList.get(0), stateList.get(1), stateList.get(2), position, ObjectTypes.valueOf(stateList.get(3)), effects, torpedoCharge, hasSupernova, teleporterCharge, shieldCharge);
+    public int receivedSpeed() {
+        return lazy ? raw[1] : speed;
+    }
+
+    public int receivedHeading() {
+        return lazy ? raw[2] : currentHeading;
+    }
+
+    // Decodes the size, speed and heading of a lazily updated object
+    public void decode() {
+        if (lazy) settle();
+    }
+
+    // Moves the received attributes into the fields
+    private void settle() {
+        size = raw[0];
+        speed = raw[1];
+        currentHeading = raw[2];
+        lazy = false;
+    }
+
+    private boolean update(int size, int speed, int heading, ObjectTypes type, int x, int y, int effects,
+                           int torpedoCharge, boolean hasSupernova, int teleporterCharge, int shieldCharge) {
+        boolean changed = this.size != size
+                || this.speed != speed
+                || currentHeading != heading
+                || gameObjectType != type
+                || position.x != x
+                || position.y != y
+                || activeEffects != effects
+                || this.torpedoCharge != torpedoCharge
+                || this.hasSupernova != hasSupernova
+                || this.teleporterCharge != teleporterCharge
+                || this.shieldCharge != shieldCharge;
+        if (!changed) return false;
+
+        this.size = size;
+        this.speed = speed;
+        this.currentHeading = heading;
+        this.gameObjectType = type;
+        this.position.x = x;
+        this.position.y = y;
+        this.activeEffects = effects;
+        this.torpedoCharge = torpedoCharge;
+        this.hasSupernova = hasSupernova;
+        this.teleporterCharge = teleporterCharge;
+        this.shieldCharge = shieldCharge;
+        return true;
     }
 
     public UUID getId() {
+        var id = this.id;
+        if (id == null) this.id = id = new UUID(idHigh, idLow);
         return id;
     }
 
     public void setId(UUID id) {
+        setId(id.getMostSignificantBits(), id.getLeastSignificantBits());
         this.id = id;
     }
 
+    public void setId(long idHigh, long idLow) {
+        if (this.idHigh != idHigh || this.idLow != idLow) this.id = null;
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+    }
+
+    // Returns whether this object has the same UUID as another one
+    public boolean hasSameId(GameObject other) {
+        return idHigh == other.idHigh && idLow == other.idLow;
+    }
+
     public int getSize() {
+        if (lazy) settle();
         return size;
     }
 
     public void setSize(int size) {
+        if (lazy) settle();
         this.size = size;
     }
 
     public int getSpeed() {
+        if (lazy) settle();
         return speed;
     }
 
     public void setSpeed(int speed) {
+        if (lazy) settle();
         this.speed = speed;
     }
 
+    public int getCurrentHeading() {
+        if (lazy) settle();
+        return currentHeading;
+    }
+
     public Position getPosition() {
         return position;
     }
@@ -94,43 +243,48 @@ public class GameObject {
         this.gameObjectType = gameObjectType;
     }
 
-    public EnumSet<Effects> getActiveEffects() {
+    // Active effects as state list flags; test single effects with hasEffect
+    public int getActiveEffects() {
         return this.activeEffects;
     }
 
+    public boolean hasEffect(Effects effect) {
+        return (activeEffects & Effects.flagOf(effect)) != 0;
+    }
+
     public int getTorpedoCharge() {
-        return this.torpedoCharge != null ? this.torpedoCharge : 0;
+        return this.torpedoCharge;
     }
 
     public boolean hasSupernova() {
-        return this.hasSupernova != null ? this.hasSupernova : false;
+        return this.hasSupernova;
     }
 
     public int getTeleporterCharge() {
-        return this.teleporterCharge != null ? this.teleporterCharge : 0;
+        return this.teleporterCharge;
     }
 
     public int getShieldCharge() {
-        return this.shieldCharge != null ? this.shieldCharge : 0;
+        return this.shieldCharge;
     }
 
     @Override
     public String toString() {
         var str = new StringBuilder();
         str.append(String.format("type: %s, pos: %d %d\n", gameObjectType.name(), position.getX(), position.getY()));
-        str.append(String.format("mov: %d -> %d, size: %d", speed, currentHeading, size));
+        str.append(String.format("mov: %d -> %d, size: %d", receivedSpeed(), receivedHeading(), receivedSize()));
         if (gameObjectType == ObjectTypes.PLAYER) {
             str.append("\narmaments:\n");
             str.append(String.format("  torpedo: %d, teleport: %d, shield: %d", torpedoCharge, teleporterCharge, shieldCharge));
             if (hasSupernova) str.append(", supernova");
             str.append("\neffects:");
-            if (!activeEffects.isEmpty()) {
+            if (activeEffects != 0) {
                 str.append("\n ");
-                if (activeEffects.contains(Effects.AFTERBURNER)) str.append(" afterburn");
-                if (activeEffects.contains(Effects.ASTEROIDFIELD)) str.append(" asteroid");
-                if (activeEffects.contains(Effects.GASCLOUD)) str.append(" gascloud");
-                if (activeEffects.contains(Effects.SUPERFOOD)) str.append(" superfood");
-                if (activeEffects.contains(Effects.SHIELD)) str.append(" shield");
+                if (hasEffect(Effects.AFTERBURNER)) str.append(" afterburn");
+                if (hasEffect(Effects.ASTEROIDFIELD)) str.append(" asteroid");
+                if (hasEffect(Effects.GASCLOUD)) str.append(" gascloud");
+                if (hasEffect(Effects.SUPERFOOD)) str.append(" superfood");
+                if (hasEffect(Effects.SHIELD)) str.append(" shield");
             }
         }
         str.append('\n');
@@ -1,24 +1,43 @@
 package Models;
 
+import Rakus.Struct.IdIndex;
+import Rakus.Struct.SpatialGrid;
+import Rakus.Struct.WorldSnapshot;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 public class GameState {
 
     public World world;
     public List<GameObject> gameObjects;
     public List<GameObject> playerGameObjects;
+    // UUID to list index
+    private final IdIndex objectIndex;
+    private final IdIndex playerIndex;
+    private WorldSnapshot objectSnapshot;
+    private WorldSnapshot playerSnapshot;
+    private SpatialGrid objectGrid;
+    private SpatialGrid playerGrid;
+    private boolean indexed;
 
     public GameState() {
         world = new World();
         gameObjects = new ArrayList<GameObject>();
         playerGameObjects = new ArrayList<GameObject>();
+        objectIndex = new IdIndex();
+        playerIndex = new IdIndex();
     }
 
     public GameState(World world, List<GameObject> gameObjects, List<GameObject> playerGameObjects) {
         this.world = world;
         this.gameObjects = gameObjects;
         this.playerGameObjects = playerGameObjects;
+        this.objectIndex = new IdIndex();
+        this.playerIndex = new IdIndex();
+        reindex(objectIndex, gameObjects);
+        reindex(playerIndex, playerGameObjects);
     }
 
     public World getWorld() {
@@ -35,6 +54,26 @@ public class GameState {
 
     public void setGameObjects(List<GameObject> gameObjects) {
         this.gameObjects = gameObjects;
+        reindex(objectIndex, gameObjects);
+        indexed = false;
+    }
+
+    // Adds a game object to the state, keeping the UUID index up to date
+    public void addGameObject(GameObject object) {
+        objectIndex.put(object.idHigh, object.idLow, gameObjects.size());
+        gameObjects.add(object);
+        indexed = false;
+    }
+
+    // Returns the game object with the given UUID, or null if there is none
+    public GameObject getGameObject(UUID id) {
+        return id != null ? getGameObject(id.getMostSignificantBits(), id.getLeastSignificantBits()) : null;
+    }
+
+    // Returns the game object with the given UUID halves, or null if there is none
+    public GameObject getGameObject(long idHigh, long idLow) {
+        int i = objectIndex.get(idHigh, idLow);
+        return i != -1 ? gameObjects.get(i) : null;
     }
 
     public List<GameObject> getPlayerGameObjects() {
@@ -43,6 +82,79 @@ public class GameState {
 
     public void setPlayerGameObjects(List<GameObject> playerGameObjects) {
         this.playerGameObjects = playerGameObjects;
+        reindex(playerIndex, playerGameObjects);
+        indexed = false;
+    }
+
+    // Adds a player object to the state, keeping the UUID index up to date
+    public void addPlayerGameObject(GameObject player) {
+        playerIndex.put(player.idHigh, player.idLow, playerGameObjects.size());
+        playerGameObjects.add(player);
+        indexed = false;
+    }
+
+    // Returns the player object with the given UUID, or null if there is none
+    public GameObject getPlayerGameObject(UUID id) {
+        return id != null ? getPlayerGameObject(id.getMostSignificantBits(), id.getLeastSignificantBits()) : null;
+    }
+
+    // Returns the player object with the given UUID halves, or null if there is none
+    public GameObject getPlayerGameObject(long idHigh, long idLow) {
+        int i = playerIndex.get(idHigh, idLow);
+        return i != -1 ? playerGameObjects.get(i) : null;
+    }
+
+    // Empties the state for reuse by the next tick, keeping its lists, indices and index structures; the world is left as is
+    public void clear() {
+        gameObjects.clear();
+        playerGameObjects.clear();
+        objectIndex.clear();
+        playerIndex.clear();
+        indexed = false;
+    }
+
+    public WorldSnapshot getObjectSnapshot() {
+        return objectSnapshot;
+    }
+
+    public WorldSnapshot getPlayerSnapshot() {
+        return playerSnapshot;
+    }
+
+    public SpatialGrid getObjectGrid() {
+        return objectGrid;
     }
 
+    public SpatialGrid getPlayerGrid() {
+        return playerGrid;
+    }
+
+    // Builds columnar snapshots and spatial indices over the current game and player objects; must be called again whenever either list
+    // changes. A state that is reused (see clear) rebuilds them in place
+    public synchronized void buildIndex() {
+        if (objectSnapshot == null) {
+            objectSnapshot = new WorldSnapshot(gameObjects);
+            playerSnapshot = new WorldSnapshot(playerGameObjects);
+            objectGrid = new SpatialGrid(objectSnapshot, world);
+            playerGrid = new SpatialGrid(playerSnapshot, world);
+        } else {
+            objectSnapshot.rebuild(gameObjects);
+            playerSnapshot.rebuild(playerGameObjects);
+            objectGrid.rebuild(world);
+            playerGrid.rebuild(world);
+        }
+        indexed = true;
+    }
+
+    // Builds the indices unless they are up to date; lets several bots share one game state, indexing it only once
+    public synchronized void ensureIndex() {
+        if (!indexed) buildIndex();
+    }
+
+    private static void reindex(IdIndex index, List<GameObject> objects) {
+        index.clear();
+        if (objects == null) return;
+        for (int i = 0; i < objects.size(); i++)
+            index.put(objects.get(i).idHigh, objects.get(i).idLow, i);
+    }
 }
@@ -30,6 +30,6 @@ public class GameStateDto {
     }
 
     public void setPlayerObjects(Map<String, List<Integer>> playerObjects) {
-        playerObjects = playerObjects;
+        this.playerObjects = playerObjects;
     }
 }
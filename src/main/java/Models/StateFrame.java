@@ -0,0 +1,92 @@
+package Models;
+
+import Rakus.Vars;
+import com.google.gson.annotations.JsonAdapter;
+
+import java.util.Arrays;
+
+@JsonAdapter(StateFrameAdapter.class)
+public class StateFrame {
+    // Primitive form of a received game state, filled token by token by StateFrameAdapter; the alternative to GameStateDto, which
+    // costs a map node, a list and a boxed Integer per attribute
+    public final World world;
+    public final Section gameObjects;
+    public final Section playerObjects;
+    // How long the decoder took to fill the frame
+    private long decodeNanos;
+
+    public StateFrame() {
+        this.world = new World();
+        this.gameObjects = new Section();
+        this.playerObjects = new Section();
+        this.decodeNanos = 0;
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public void setDecodeNanos(long decodeNanos) {
+        this.decodeNanos = decodeNanos;
+    }
+
+    public static class Section {
+        // Objects of one map in the payload; attributes of object i live at attribs[i * STRIDE .. i * STRIDE + length(i))
+        public static final int STRIDE = Vars.PLAYER_ATTRIB_COUNT;
+
+        private int count;
+        private String[] ids;
+        private int[] lengths;
+        private int[] attribs;
+
+        public Section() {
+            this.count = 0;
+            this.ids = new String[16];
+            this.lengths = new int[16];
+            this.attribs = new int[16 * STRIDE];
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public String id(int i) {
+            return ids[i];
+        }
+
+        public int length(int i) {
+            return lengths[i];
+        }
+
+        public int offset(int i) {
+            return i * STRIDE;
+        }
+
+        public int[] attribs() {
+            return attribs;
+        }
+
+        public void clear() {
+            Arrays.fill(ids, 0, count, null);
+            count = 0;
+        }
+
+        // Appends an object with no attributes yet and returns its index
+        public int add(String id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+                attribs = Arrays.copyOf(attribs, count * 2 * STRIDE);
+            }
+            ids[count] = id;
+            lengths[count] = 0;
+            return count++;
+        }
+
+        // Appends an attribute to an object; attributes beyond STRIDE are dropped
+        public void addAttrib(int i, int value) {
+            if (lengths[i] < STRIDE)
+                attribs[i * STRIDE + lengths[i]++] = value;
+        }
+    }
+}
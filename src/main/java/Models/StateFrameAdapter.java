@@ -0,0 +1,148 @@
+package Models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class StateFrameAdapter extends TypeAdapter<StateFrame> {
+    // Streaming decoder for the ReceiveGameState payload; reads the JSON token by token straight into a StateFrame. Picked up by the
+    // SignalR JSON protocol through the @JsonAdapter annotation on StateFrame
+
+    @Override
+    public StateFrame read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        long start = System.nanoTime();
+        var frame = new StateFrame();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "world":
+                    readWorld(in, frame.world);
+                    break;
+                case "gameObjects":
+                    readSection(in, frame.gameObjects);
+                    break;
+                case "playerObjects":
+                    readSection(in, frame.playerObjects);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        frame.setDecodeNanos(System.nanoTime() - start);
+        return frame;
+    }
+
+    @Override
+    public void write(JsonWriter out, StateFrame frame) throws IOException {
+        if (frame == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("world").beginObject();
+        var center = frame.world.getCenterPoint();
+        if (center != null)
+            out.name("centerPoint").beginObject().name("x").value(center.x).name("y").value(center.y).endObject();
+        out.name("radius").value(frame.world.getRadius());
+        out.name("currentTick").value(frame.world.getCurrentTick());
+        out.endObject();
+        writeSection(out.name("gameObjects"), frame.gameObjects);
+        writeSection(out.name("playerObjects"), frame.playerObjects);
+        out.endObject();
+    }
+
+    private static void readWorld(JsonReader in, World world) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "centerPoint":
+                    world.centerPoint = readPosition(in);
+                    break;
+                case "radius":
+                    world.radius = readInteger(in);
+                    break;
+                case "currentTick":
+                    world.currentTick = readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    private static Position readPosition(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        var position = new Position();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x":
+                    position.x = in.nextInt();
+                    break;
+                case "y":
+                    position.y = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return position;
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static void readSection(JsonReader in, StateFrame.Section section) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            int i = section.add(in.nextName());
+            in.beginArray();
+            while (in.hasNext())
+                section.addAttrib(i, in.nextInt());
+            in.endArray();
+        }
+        in.endObject();
+    }
+
+    private static void writeSection(JsonWriter out, StateFrame.Section section) throws IOException {
+        out.beginObject();
+        for (int i = 0; i < section.count(); i++) {
+            out.name(section.id(i)).beginArray();
+            for (int k = 0; k < section.length(i); k++)
+                out.value(section.attribs()[section.offset(i) + k]);
+            out.endArray();
+        }
+        out.endObject();
+    }
+}
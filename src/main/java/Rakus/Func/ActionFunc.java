@@ -1,9 +1,10 @@
 package Rakus.Func;
 
 import Models.PlayerAction;
+import Rakus.Struct.TickContext;
 
 public interface ActionFunc {
-    // Functional interface - ActionFunc takes in bot service information as well as a PlayerAction object, calculates action needed to achieve
-    // a determined goal, and returns the PlayerAction object with its fields set to the needed values
-    PlayerAction get(PlayerAction action);
+    // Functional interface - ActionFunc takes in the current tick context as well as a PlayerAction object, calculates action needed to
+    // achieve a determined goal, and returns the PlayerAction object with its fields set to the needed values
+    PlayerAction get(TickContext ctx, PlayerAction action);
 }
@@ -0,0 +1,10 @@
+package Rakus.Func;
+
+import Models.PlayerAction;
+import Rakus.Struct.TickContext;
+
+public interface CheckFunc {
+    // Functional interface - CheckFunc takes in the current tick context as well as the PlayerAction chosen so far, adjusts or replaces
+    // the action if its condition holds, and returns a description of what it did, or null if it left the action alone
+    String apply(TickContext ctx, PlayerAction action);
+}
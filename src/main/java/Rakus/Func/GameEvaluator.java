@@ -1,7 +1,9 @@
 package Rakus.Func;
 
+import Rakus.Struct.TickContext;
+
 public interface GameEvaluator {
-    // Functional interface - GameEvaluator takes bot service information and returns an integer specifying an evaluation score of the current
-    // game state; used to determine priority of a bot state
-    int get();
+    // Functional interface - GameEvaluator takes the current tick context and returns an integer specifying an evaluation score of the
+    // current game state; used to determine priority of a bot state
+    int get(TickContext ctx);
 }
@@ -0,0 +1,8 @@
+package Rakus.Func;
+
+import Models.GameObject;
+
+public interface ObjectFilter<T> {
+    // Functional interface - ObjectFilter tests a game object against an argument and an integer parameter, so that it need not capture them
+    boolean test(T arg, int param, GameObject object);
+}
@@ -0,0 +1,9 @@
+package Rakus.Func;
+
+import Models.GameObject;
+
+public interface ObjectKey<T> {
+    // Functional interface - ObjectKey ranks a game object for a query, given the same argument and integer parameter as the query's
+    // ObjectFilter, so that it can be written as a non-capturing lambda as well
+    double key(T arg, int param, GameObject object);
+}
@@ -0,0 +1,9 @@
+package Rakus.Func;
+
+import Models.GameObject;
+
+public interface ObjectVisitor {
+    // Functional interface - ObjectVisitor is called for every game object matched by a query, and returns whether the query should keep
+    // visiting further objects (false stops the query early)
+    boolean visit(GameObject object);
+}
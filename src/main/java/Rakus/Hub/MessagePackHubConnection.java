@@ -0,0 +1,214 @@
+package Rakus.Hub;
+
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Vars;
+import com.google.gson.JsonParser;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MessagePackHubConnection {
+    // Minimal SignalR client speaking the MessagePack hub protocol over a WebSocket; SignalR 1.0.0's HubConnection only speaks JSON
+    private final String url;
+    private final MessagePackHubProtocol.Handler handler;
+    private final OkHttpClient http;
+    private final MsgPackReader reader;
+    private final MsgPackWriter body;
+    private final MsgPackWriter out;
+    private final AtomicLong bytesReceived;
+    private final CountDownLatch handshake;
+    private final CountDownLatch closed;
+    private volatile WebSocket socket;
+    private volatile boolean connected;
+    private volatile String handshakeError;
+    private ScheduledExecutorService pinger;
+
+    // Bytes received but not decoded yet, e.g. the start of a message split over two frames (reader thread only)
+    private byte[] pending;
+    private int pendingLength;
+    private boolean handshaken;
+
+    public MessagePackHubConnection(String url, MessagePackHubProtocol.Handler handler) {
+        this.url = url;
+        this.handler = handler;
+        this.http = new OkHttpClient.Builder().readTimeout(0, TimeUnit.MILLISECONDS).build();
+        this.reader = new MsgPackReader();
+        this.body = new MsgPackWriter();
+        this.out = new MsgPackWriter();
+        this.bytesReceived = new AtomicLong();
+        this.handshake = new CountDownLatch(1);
+        this.closed = new CountDownLatch(1);
+        this.pending = new byte[1 << 16];
+        this.pendingLength = 0;
+    }
+
+    // Connects and completes the handshake; blocks until the hub has accepted the protocol
+    public void start() throws IOException, InterruptedException {
+        var connectionId = negotiate();
+        var wsUrl = url.replaceFirst("^http", "ws") + (url.contains("?") ? "&" : "?") + "id=" + connectionId;
+        socket = http.newWebSocket(new Request.Builder().url(wsUrl).build(), new Listener());
+        if (!handshake.await(Vars.HUB_HANDSHAKE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            stop();
+            throw new IOException("Timed out waiting for the MessagePack handshake");
+        }
+        if (handshakeError != null || closed.getCount() == 0) {
+            stop();
+            throw new IOException("MessagePack handshake failed: " + (handshakeError != null ? handshakeError : "connection closed"));
+        }
+
+        connected = true;
+        pinger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "rakus-hub-ping");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pinger.scheduleAtFixedRate(this::ping, Vars.HUB_PING_INTERVAL_MS, Vars.HUB_PING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // Bytes received from the hub so far, handshake included
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    // Invokes a hub method; see MessagePackHubProtocol.writeInvocation for the supported argument types
+    public synchronized void send(String target, Object... arguments) {
+        out.clear();
+        MessagePackHubProtocol.writeInvocation(body, out, target, arguments);
+        flush();
+    }
+
+    // Blocks until the connection is closed by either side
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    // Closes the connection and lets OkHttp's threads end, so that they do not keep the process alive
+    public void stop() {
+        var socket = this.socket;
+        if (socket != null) socket.close(1000, null);
+        disconnected();
+        http.dispatcher().executorService().shutdown();
+        http.connectionPool().evictAll();
+    }
+
+    private synchronized void ping() {
+        if (!connected) return;
+        out.clear();
+        MessagePackHubProtocol.writePing(out);
+        flush();
+    }
+
+    private void flush() {
+        var socket = this.socket;
+        if (socket != null) socket.send(ByteString.of(out.data(), 0, out.length()));
+    }
+
+    private String negotiate() throws IOException {
+        int query = url.indexOf('?');
+        var negotiateUrl = query == -1 ? url + "/negotiate" : url.substring(0, query) + "/negotiate" + url.substring(query);
+        var request = new Request.Builder().url(negotiateUrl).post(RequestBody.create(MediaType.parse("text/plain"), "")).build();
+        try (var response = http.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null)
+                throw new IOException("Negotiate failed with HTTP " + response.code());
+            var json = new JsonParser().parse(response.body().string()).getAsJsonObject();
+            if (json.has("error")) throw new IOException("Negotiate failed: " + json.get("error").getAsString());
+            return json.get("connectionId").getAsString();
+        }
+    }
+
+    private void disconnected() {
+        connected = false;
+        if (pinger != null) pinger.shutdownNow();
+        handshake.countDown();
+        closed.countDown();
+    }
+
+    private void receive(byte[] data, int offset, int length) {
+        bytesReceived.addAndGet(length);
+        if (pendingLength + length > pending.length) pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        System.arraycopy(data, offset, pending, pendingLength, length);
+        pendingLength += length;
+
+        int at = 0;
+        if (!handshaken) {
+            // The handshake response is JSON terminated by a record separator, and may share a frame with the first messages
+            int end = 0;
+            while (end < pendingLength && pending[end] != MessagePackHubProtocol.RECORD_SEPARATOR) ++end;
+            if (end == pendingLength) return;
+            var response = new JsonParser().parse(new String(pending, 0, end, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (response.has("error")) handshakeError = response.get("error").getAsString();
+            handshaken = true;
+            handshake.countDown();
+            at = end + 1;
+        }
+
+        at += MessagePackHubProtocol.parseMessages(pending, at, pendingLength - at, reader, handler);
+        System.arraycopy(pending, at, pending, 0, pendingLength - at);
+        pendingLength -= at;
+    }
+
+    private class Listener extends WebSocketListener {
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            webSocket.send(MessagePackHubProtocol.HANDSHAKE_REQUEST);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, ByteString bytes) {
+            var data = bytes.toByteArray();
+            receiveOrClose(webSocket, data);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            receiveOrClose(webSocket, text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // A message that cannot be decoded leaves the stream out of sync, so the connection is closed
+        private void receiveOrClose(WebSocket webSocket, byte[] data) {
+            try {
+                receive(data, 0, data.length);
+            } catch (RuntimeException e) {
+                Log.error(LogCategory.NET, "Failed to decode a hub message: {}").arg(e.toString()).log();
+                webSocket.close(1002, "Protocol error");
+                disconnected();
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            disconnected();
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            // Failures after we closed the connection ourselves are just the socket going away
+            if (connected) Log.warn(LogCategory.NET, "Hub connection failed: {}").arg(t.toString()).log();
+            disconnected();
+        }
+    }
+}
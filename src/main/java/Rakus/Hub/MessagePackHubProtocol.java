@@ -0,0 +1,232 @@
+package Rakus.Hub;
+
+import Models.PlayerAction;
+import Models.Position;
+import Models.StateFrame;
+import Models.World;
+
+import java.util.UUID;
+
+public class MessagePackHubProtocol {
+    // SignalR's MessagePack hub protocol (version 1): length-prefixed MessagePack arrays, several of which may share a WebSocket frame
+    public static final String NAME = "messagepack";
+    public static final String HANDSHAKE_REQUEST = "{\"protocol\":\"messagepack\",\"version\":1}\u001e";
+    public static final byte RECORD_SEPARATOR = 0x1e;
+
+    // The only messages handled: [1, headers, invocationId, target, [arguments...]], [6] and [7, error]
+    public static final int INVOCATION = 1, PING = 6, CLOSE = 7;
+
+    private static final String[] STATE_KEYS = {"world", "gameObjects", "playerObjects"};
+    private static final String[] WORLD_KEYS = {"centerPoint", "radius", "currentTick"};
+    private static final String[] POSITION_KEYS = {"x", "y"};
+
+    public interface Handler {
+        // Called with the reader positioned at the first of the invocation's arguments; arguments that are not read are skipped
+        void invocation(String target, int arguments, MsgPackReader reader);
+
+        // Called when the other side closes the connection; error is null for a normal close
+        void close(String error);
+    }
+
+    // Decodes every message in data[offset, offset + length); returns the bytes consumed, which stops short of a trailing partial message
+    public static int parseMessages(byte[] data, int offset, int length, MsgPackReader reader, Handler handler) {
+        int at = offset, end = offset + length;
+        while (at < end) {
+            int size = 0, shift = 0, header = at;
+            while (true) {
+                if (header == end) return at - offset;
+                int b = data[header++] & 0xff;
+                size |= (b & 0x7f) << shift;
+                shift += 7;
+                if ((b & 0x80) == 0) break;
+                if (shift > 28) throw new IllegalStateException("MessagePack message length too large");
+            }
+            if (header + size > end) return at - offset;
+
+            reader.reset(data, header, size);
+            parseMessage(reader, handler);
+            at = header + size;
+        }
+        return at - offset;
+    }
+
+    private static void parseMessage(MsgPackReader reader, Handler handler) {
+        int fields = reader.readArrayHeader();
+        int type = reader.readInt();
+        switch (type) {
+            case INVOCATION: {
+                reader.skip();
+                reader.skip();
+                var target = reader.readString();
+                // Nothing after the arguments is needed, so the handler may leave them unread
+                handler.invocation(target, reader.readArrayHeader(), reader);
+                break;
+            }
+            case CLOSE:
+                handler.close(fields > 1 ? reader.readString() : null);
+                break;
+            default:
+                // Pings keep the connection alive and need no reply; completions and stream items are not used by the game
+                break;
+        }
+    }
+
+    // Reads a ReceiveGameState argument into a frame, replacing its previous contents
+    public static void readGameState(MsgPackReader reader, StateFrame frame) {
+        long start = System.nanoTime();
+        frame.gameObjects.clear();
+        frame.playerObjects.clear();
+        frame.setDecodeNanos(0);
+        if (reader.tryReadNil()) return;
+
+        for (int n = reader.readMapHeader(); n > 0; n--) {
+            switch (reader.readKey(STATE_KEYS)) {
+                case 0:
+                    readWorld(reader, frame.world);
+                    break;
+                case 1:
+                    readSection(reader, frame.gameObjects);
+                    break;
+                case 2:
+                    readSection(reader, frame.playerObjects);
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        frame.setDecodeNanos(System.nanoTime() - start);
+    }
+
+    private static void readWorld(MsgPackReader reader, World world) {
+        if (reader.tryReadNil()) return;
+
+        for (int n = reader.readMapHeader(); n > 0; n--) {
+            switch (reader.readKey(WORLD_KEYS)) {
+                case 0:
+                    world.centerPoint = readPosition(reader, world.centerPoint);
+                    break;
+                case 1:
+                    world.radius = reader.tryReadNil() ? null : reader.readInt();
+                    break;
+                case 2:
+                    world.currentTick = reader.tryReadNil() ? null : reader.readInt();
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+    }
+
+    // Reads a position into an existing one if there is one
+    private static Position readPosition(MsgPackReader reader, Position position) {
+        if (reader.tryReadNil()) return null;
+
+        if (position == null) position = new Position();
+        for (int n = reader.readMapHeader(); n > 0; n--) {
+            switch (reader.readKey(POSITION_KEYS)) {
+                case 0:
+                    position.x = reader.readInt();
+                    break;
+                case 1:
+                    position.y = reader.readInt();
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return position;
+    }
+
+    private static void readSection(MsgPackReader reader, StateFrame.Section section) {
+        if (reader.tryReadNil()) return;
+
+        for (int n = reader.readMapHeader(); n > 0; n--) {
+            int i = section.add(reader.readString());
+            for (int m = reader.readArrayHeader(); m > 0; m--)
+                section.addAttrib(i, reader.readInt());
+        }
+    }
+
+    // Writes a complete ReceiveGameState invocation, as a hub would send it
+    public static void writeGameState(MsgPackWriter body, MsgPackWriter out, StateFrame frame) {
+        body.clear();
+        beginInvocation(body, "ReceiveGameState", 1);
+        body.writeMapHeader(3);
+        body.writeString("World").writeMapHeader(3);
+        var center = frame.world.getCenterPoint();
+        body.writeString("CenterPoint");
+        if (center != null) body.writeMapHeader(2).writeString("X").writeInt(center.x).writeString("Y").writeInt(center.y);
+        else body.writeNil();
+        body.writeString("Radius");
+        writeInteger(body, frame.world.getRadius());
+        body.writeString("CurrentTick");
+        writeInteger(body, frame.world.getCurrentTick());
+        body.writeString("GameObjects");
+        writeSection(body, frame.gameObjects);
+        body.writeString("PlayerObjects");
+        writeSection(body, frame.playerObjects);
+        frame(body, out);
+    }
+
+    private static void writeSection(MsgPackWriter body, StateFrame.Section section) {
+        body.writeMapHeader(section.count());
+        for (int i = 0; i < section.count(); i++) {
+            body.writeString(section.id(i)).writeArrayHeader(section.length(i));
+            for (int k = 0; k < section.length(i); k++)
+                body.writeInt(section.attribs()[section.offset(i) + k]);
+        }
+    }
+
+    private static void writeInteger(MsgPackWriter body, Integer value) {
+        if (value != null) body.writeInt(value);
+        else body.writeNil();
+    }
+
+    // Writes a complete invocation with string, integer, UUID and player action arguments (a UUID is sent as its string, as .NET does)
+    public static void writeInvocation(MsgPackWriter body, MsgPackWriter out, String target, Object... arguments) {
+        body.clear();
+        beginInvocation(body, target, arguments.length);
+        for (var argument : arguments) {
+            if (argument == null) body.writeNil();
+            else if (argument instanceof String) body.writeString((String) argument);
+            else if (argument instanceof Integer) body.writeInt((Integer) argument);
+            else if (argument instanceof UUID) body.writeString(argument.toString());
+            else if (argument instanceof PlayerAction) writePlayerAction(body, (PlayerAction) argument);
+            else throw new IllegalArgumentException("Unsupported hub argument: " + argument.getClass().getName());
+        }
+        frame(body, out);
+    }
+
+    private static void writePlayerAction(MsgPackWriter body, PlayerAction action) {
+        body.writeMapHeader(3);
+        body.writeString("PlayerId").writeString(action.playerId != null ? action.playerId.toString() : null);
+        body.writeString("Action");
+        if (action.action != null) body.writeInt(action.action.value);
+        else body.writeNil();
+        body.writeString("Heading").writeInt(action.heading);
+    }
+
+    // Writes a ping message
+    public static void writePing(MsgPackWriter out) {
+        out.writeByte(2).writeArrayHeader(1).writeInt(PING);
+    }
+
+    // Writes a close message
+    public static void writeClose(MsgPackWriter body, MsgPackWriter out, String error) {
+        body.clear();
+        body.writeArrayHeader(2).writeInt(CLOSE).writeString(error);
+        frame(body, out);
+    }
+
+    private static void beginInvocation(MsgPackWriter body, String target, int arguments) {
+        body.writeArrayHeader(5).writeInt(INVOCATION).writeMapHeader(0).writeNil().writeString(target).writeArrayHeader(arguments);
+    }
+
+    // Appends a message body to the output, prefixed with its varint length
+    private static void frame(MsgPackWriter body, MsgPackWriter out) {
+        int size = body.length();
+        for (; size > 0x7f; size >>>= 7) out.writeByte((size & 0x7f) | 0x80);
+        out.writeByte(size);
+        out.writeBytes(body.data(), 0, body.length());
+    }
+}
@@ -0,0 +1,203 @@
+package Rakus.Hub;
+
+import java.nio.charset.StandardCharsets;
+
+public class MsgPackReader {
+    // Minimal MessagePack decoder over a byte array: just what the SignalR MessagePack hub protocol carries (nil, booleans, integers,
+    // floats, strings, binaries, arrays and maps). Values are read in order; anything not needed is skipped with skip()
+    private byte[] data;
+    private int position;
+    private int limit;
+
+    public MsgPackReader() {
+        reset(new byte[0], 0, 0);
+    }
+
+    // Reads from data[offset, offset + length)
+    public void reset(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    // Consumes a nil if there is one
+    public boolean tryReadNil() {
+        if (peek() != (byte) 0xc0) return false;
+        ++position;
+        return true;
+    }
+
+    public boolean readBoolean() {
+        int b = next();
+        if (b == 0xc2) return false;
+        if (b == 0xc3) return true;
+        throw mismatch("boolean", b);
+    }
+
+    public int readInt() {
+        long value = readLong();
+        if (value != (int) value) throw new IllegalStateException("MessagePack integer out of int range: " + value);
+        return (int) value;
+    }
+
+    public long readLong() {
+        int b = next();
+        if (b <= 0x7f) return b;
+        if (b >= 0xe0) return (byte) b;
+        switch (b) {
+            case 0xcc:
+                return next();
+            case 0xcd:
+                return readRaw(2);
+            case 0xce:
+                return readRaw(4);
+            case 0xcf:
+            case 0xd3:
+                return readRaw(8);
+            case 0xd0:
+                return (byte) next();
+            case 0xd1:
+                return (short) readRaw(2);
+            case 0xd2:
+                return (int) readRaw(4);
+            default:
+                throw mismatch("integer", b);
+        }
+    }
+
+    public double readDouble() {
+        int b = peek() & 0xff;
+        if (b == 0xca) {
+            ++position;
+            return Float.intBitsToFloat((int) readRaw(4));
+        }
+        if (b == 0xcb) {
+            ++position;
+            return Double.longBitsToDouble(readRaw(8));
+        }
+        return readLong();
+    }
+
+    // Returns null for nil
+    public String readString() {
+        if (tryReadNil()) return null;
+        int length = readStringHeader();
+        var value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    // Reads a map key and returns the index of the ASCII key it matches ignoring case, or -1, without decoding it (map keys are PascalCase
+    // from .NET servers and camelCase in the JSON protocol)
+    public int readKey(String[] keys) {
+        int length = readStringHeader();
+        int match = -1;
+        for (int k = 0; k < keys.length && match == -1; k++) {
+            var key = keys[k];
+            boolean equal = length == key.length();
+            for (int i = 0; equal && i < length; i++) {
+                int c = data[position + i];
+                equal = c == key.charAt(i) || Character.toLowerCase(c) == Character.toLowerCase(key.charAt(i));
+            }
+            if (equal) match = k;
+        }
+        position += length;
+        return match;
+    }
+
+    // Returns the string's length; its UTF-8 bytes follow
+    public int readStringHeader() {
+        int b = next();
+        if ((b & 0xe0) == 0xa0) return b & 0x1f;
+        switch (b) {
+            case 0xd9:
+                return next();
+            case 0xda:
+                return (int) readRaw(2);
+            case 0xdb:
+                return (int) readRaw(4);
+            default:
+                throw mismatch("string", b);
+        }
+    }
+
+    public int readArrayHeader() {
+        int b = next();
+        if ((b & 0xf0) == 0x90) return b & 0x0f;
+        if (b == 0xdc) return (int) readRaw(2);
+        if (b == 0xdd) return (int) readRaw(4);
+        throw mismatch("array", b);
+    }
+
+    public int readMapHeader() {
+        int b = next();
+        if ((b & 0xf0) == 0x80) return b & 0x0f;
+        if (b == 0xde) return (int) readRaw(2);
+        if (b == 0xdf) return (int) readRaw(4);
+        throw mismatch("map", b);
+    }
+
+    // Skips one value, including everything nested in it
+    public void skip() {
+        for (int pending = 1; pending > 0; --pending) {
+            int b = next();
+            if (b <= 0x7f || b >= 0xe0 || b == 0xc0 || b == 0xc2 || b == 0xc3) continue;
+            if ((b & 0xf0) == 0x80) pending += 2 * (b & 0x0f);
+            else if ((b & 0xf0) == 0x90) pending += b & 0x0f;
+            else if ((b & 0xe0) == 0xa0) position += b & 0x1f;
+            else switch (b) {
+                case 0xcc: case 0xd0: position += 1; break;
+                case 0xcd: case 0xd1: position += 2; break;
+                case 0xca: case 0xce: case 0xd2: position += 4; break;
+                case 0xcb: case 0xcf: case 0xd3: position += 8; break;
+                case 0xd4: position += 2; break;
+                case 0xd5: position += 3; break;
+                case 0xd6: position += 5; break;
+                case 0xd7: position += 9; break;
+                case 0xd8: position += 17; break;
+                case 0xc4: case 0xd9: position += next(); break;
+                case 0xc5: case 0xda: position += (int) readRaw(2); break;
+                case 0xc6: case 0xdb: position += (int) readRaw(4); break;
+                case 0xc7: position += next() + 1; break;
+                case 0xc8: position += (int) readRaw(2) + 1; break;
+                case 0xc9: position += (int) readRaw(4) + 1; break;
+                case 0xdc: pending += (int) readRaw(2); break;
+                case 0xdd: pending += (int) readRaw(4); break;
+                case 0xde: pending += 2 * (int) readRaw(2); break;
+                case 0xdf: pending += 2 * (int) readRaw(4); break;
+                default: throw mismatch("value", b);
+            }
+        }
+        if (position > limit) throw new IllegalStateException("Truncated MessagePack value");
+    }
+
+    private byte peek() {
+        if (position >= limit) throw new IllegalStateException("Truncated MessagePack value");
+        return data[position];
+    }
+
+    private int next() {
+        if (position >= limit) throw new IllegalStateException("Truncated MessagePack value");
+        return data[position++] & 0xff;
+    }
+
+    // Big-endian unsigned value of some bytes
+    private long readRaw(int bytes) {
+        if (position + bytes > limit) throw new IllegalStateException("Truncated MessagePack value");
+        long value = 0;
+        for (int i = 0; i < bytes; i++) value = (value << 8) | (data[position++] & 0xff);
+        return value;
+    }
+
+    private static IllegalStateException mismatch(String expected, int b) {
+        return new IllegalStateException(String.format("Expected a MessagePack %s, found 0x%02x", expected, b));
+    }
+}
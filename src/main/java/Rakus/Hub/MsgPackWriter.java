@@ -0,0 +1,115 @@
+package Rakus.Hub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class MsgPackWriter {
+    // Minimal MessagePack encoder into a growable byte array, the counterpart of MsgPackReader. Integers and headers always take the
+    // shortest encoding, like the .NET encoder does, so byte counts match what a real hub would send
+    private byte[] data;
+    private int length;
+
+    public MsgPackWriter() {
+        this.data = new byte[256];
+        this.length = 0;
+    }
+
+    public void clear() {
+        length = 0;
+    }
+
+    public byte[] data() {
+        return data;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    public MsgPackWriter writeNil() {
+        ensure(1);
+        data[length++] = (byte) 0xc0;
+        return this;
+    }
+
+    public MsgPackWriter writeBoolean(boolean value) {
+        ensure(1);
+        data[length++] = (byte) (value ? 0xc3 : 0xc2);
+        return this;
+    }
+
+    public MsgPackWriter writeInt(long value) {
+        ensure(9);
+        if (value >= 0) {
+            if (value <= 0x7f) data[length++] = (byte) value;
+            else if (value <= 0xff) writeRaw(0xcc, value, 1);
+            else if (value <= 0xffff) writeRaw(0xcd, value, 2);
+            else if (value <= 0xffffffffL) writeRaw(0xce, value, 4);
+            else writeRaw(0xcf, value, 8);
+        } else {
+            if (value >= -32) data[length++] = (byte) value;
+            else if (value >= Byte.MIN_VALUE) writeRaw(0xd0, value, 1);
+            else if (value >= Short.MIN_VALUE) writeRaw(0xd1, value, 2);
+            else if (value >= Integer.MIN_VALUE) writeRaw(0xd2, value, 4);
+            else writeRaw(0xd3, value, 8);
+        }
+        return this;
+    }
+
+    public MsgPackWriter writeString(String value) {
+        if (value == null) return writeNil();
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(5 + bytes.length);
+        if (bytes.length <= 31) data[length++] = (byte) (0xa0 | bytes.length);
+        else if (bytes.length <= 0xff) writeRaw(0xd9, bytes.length, 1);
+        else if (bytes.length <= 0xffff) writeRaw(0xda, bytes.length, 2);
+        else writeRaw(0xdb, bytes.length, 4);
+        System.arraycopy(bytes, 0, data, length, bytes.length);
+        length += bytes.length;
+        return this;
+    }
+
+    public MsgPackWriter writeArrayHeader(int size) {
+        ensure(5);
+        if (size <= 15) data[length++] = (byte) (0x90 | size);
+        else if (size <= 0xffff) writeRaw(0xdc, size, 2);
+        else writeRaw(0xdd, size, 4);
+        return this;
+    }
+
+    public MsgPackWriter writeMapHeader(int size) {
+        ensure(5);
+        if (size <= 15) data[length++] = (byte) (0x80 | size);
+        else if (size <= 0xffff) writeRaw(0xde, size, 2);
+        else writeRaw(0xdf, size, 4);
+        return this;
+    }
+
+    // Appends a single raw byte, e.g. of a length prefix that is not MessagePack itself
+    public MsgPackWriter writeByte(int b) {
+        ensure(1);
+        data[length++] = (byte) b;
+        return this;
+    }
+
+    // Appends bytes that are already encoded
+    public MsgPackWriter writeBytes(byte[] bytes, int offset, int count) {
+        ensure(count);
+        System.arraycopy(bytes, offset, data, length, count);
+        length += count;
+        return this;
+    }
+
+    private void writeRaw(int type, long value, int bytes) {
+        data[length++] = (byte) type;
+        for (int i = bytes - 1; i >= 0; i--) data[length++] = (byte) (value >>> (8 * i));
+    }
+
+    private void ensure(int count) {
+        if (length + count > data.length) data = Arrays.copyOf(data, Math.max(length + count, data.length * 2));
+    }
+}
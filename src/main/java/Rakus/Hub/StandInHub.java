@@ -0,0 +1,363 @@
+package Rakus.Hub;
+
+import Models.StateFrame;
+import Rakus.Replay.StateLog;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StandInHub {
+    // Local stand-in for the runner's hub: serves a StateRecorder log to every bot that connects over either hub protocol, or with
+    // --compare encodes and decodes every state in both protocols and prints bytes and decode time per tick
+    //   java -cp Rakus.jar:libs/* Rakus.Hub.StandInHub [--port P] [--tick-ms T] [--ticks N] [--compare] log
+    private static final String PATH = "/runnerhub";
+    private static final int COMPARE_ROUNDS = 20;
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    private final List<StateFrame> frames;
+    private final UUID botId;
+    private final long tickMillis;
+    private final Gson gson;
+    private final AtomicInteger sessions;
+
+    public StandInHub(List<StateFrame> frames, UUID botId, long tickMillis) {
+        this.frames = frames;
+        this.botId = botId;
+        this.tickMillis = tickMillis;
+        this.gson = new Gson();
+        this.sessions = new AtomicInteger();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 5000, ticks = 600;
+        long tickMillis = 50;
+        boolean compare = false;
+        Path log = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--tick-ms":
+                    tickMillis = Long.parseLong(args[++i]);
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(args[++i]);
+                    break;
+                case "--compare":
+                    compare = true;
+                    break;
+                default:
+                    log = Path.of(args[i]);
+            }
+        }
+
+        if (log == null) {
+            System.out.println("Usage: StandInHub [--port P] [--tick-ms T] [--ticks N] [--compare] log");
+            return;
+        }
+
+        var frames = new ArrayList<StateFrame>();
+        UUID botId;
+        try (var stateLog = new StateLog(log)) {
+            for (int i = 0; i < stateLog.size() && i < ticks; i++) {
+                var frame = new StateFrame();
+                stateLog.read(i, frame);
+                frames.add(frame);
+            }
+            botId = stateLog.getBotId() != null ? UUID.fromString(stateLog.getBotId()) : UUID.randomUUID();
+        }
+        System.out.printf("[INFO] %d game states loaded%n", frames.size());
+
+        var hub = new StandInHub(frames, botId, tickMillis);
+        if (compare) hub.compare();
+        else hub.serve(port);
+    }
+
+    // Encodes every state in both protocols and times decoding them
+    public void compare() throws IOException {
+        var json = new ArrayList<String>();
+        var messagePack = new ArrayList<byte[]>();
+        var body = new MsgPackWriter();
+        var out = new MsgPackWriter();
+        for (var frame : frames) {
+            json.add(jsonInvocation("ReceiveGameState", gson.toJson(frame)));
+            out.clear();
+            MessagePackHubProtocol.writeGameState(body, out, frame);
+            messagePack.add(out.toByteArray());
+        }
+
+        var adapter = gson.getAdapter(StateFrame.class);
+        long jsonBytes = 0, messagePackBytes = 0;
+        for (int i = 0; i < frames.size(); i++) {
+            jsonBytes += json.get(i).getBytes(StandardCharsets.UTF_8).length;
+            messagePackBytes += messagePack.get(i).length;
+        }
+
+        // Warm both decoders up, then time them over the same number of rounds
+        var reader = new MsgPackReader();
+        var frame = new StateFrame();
+        var handler = new MessagePackHubProtocol.Handler() {
+            @Override
+            public void invocation(String target, int arguments, MsgPackReader reader) {
+                MessagePackHubProtocol.readGameState(reader, frame);
+            }
+
+            @Override
+            public void close(String error) {
+            }
+        };
+        long jsonNanos = 0, messagePackNanos = 0;
+        for (int round = 0; round < 2 * COMPARE_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (var message : json) decodeJson(adapter, message);
+            long decoded = System.nanoTime();
+            for (var message : messagePack) MessagePackHubProtocol.parseMessages(message, 0, message.length, reader, handler);
+            long end = System.nanoTime();
+            if (round >= COMPARE_ROUNDS) {
+                jsonNanos += decoded - start;
+                messagePackNanos += end - decoded;
+            }
+        }
+
+        long count = (long) COMPARE_ROUNDS * frames.size();
+        System.out.printf("[INFO] %-12s %12s %16s%n", "protocol", "bytes/tick", "decode us/tick");
+        System.out.printf("[INFO] %-12s %12d %16.1f%n", "json", jsonBytes / frames.size(), jsonNanos / 1000.0 / count);
+        System.out.printf("[INFO] %-12s %12d %16.1f%n", "messagepack", messagePackBytes / frames.size(), messagePackNanos / 1000.0 / count);
+        System.out.printf("[INFO] messagepack is %.1f%% of the bytes and %.1f%% of the decode time of json%n",
+                100.0 * messagePackBytes / jsonBytes, 100.0 * messagePackNanos / jsonNanos);
+    }
+
+    // Decodes a JSON ReceiveGameState message like SignalR does: the envelope is walked with a JsonReader and the argument bound in place
+    private static StateFrame decodeJson(TypeAdapter<StateFrame> adapter, String message) throws IOException {
+        StateFrame frame = null;
+        var reader = new JsonReader(new StringReader(message.substring(0, message.length() - 1)));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("arguments")) {
+                reader.beginArray();
+                frame = adapter.read(reader);
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return frame;
+    }
+
+    // Accepts connections until the process is stopped; each connection is served on a thread of its own
+    public void serve(int port) throws IOException {
+        try (var server = new ServerSocket(port)) {
+            System.out.printf("[INFO] Stand-in hub listening on http://localhost:%d%s%n", port, PATH);
+            while (true) {
+                var socket = server.accept();
+                var thread = new Thread(() -> {
+                    try (socket) {
+                        handle(socket);
+                    } catch (IOException | InterruptedException e) {
+                        System.out.printf("[WARN] Connection from %s failed: %s%n", socket.getRemoteSocketAddress(), e);
+                    }
+                }, "stand-in-hub-" + sessions.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException, InterruptedException {
+        var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        var out = new BufferedOutputStream(socket.getOutputStream());
+        var requestLine = readLine(in);
+        var headers = new HashMap<String, String>();
+        for (var line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            int colon = line.indexOf(':');
+            if (colon > 0) headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+        }
+
+        var parts = requestLine.split(" ");
+        var target = parts.length > 1 ? parts[1] : "";
+        if (parts[0].equals("POST") && target.startsWith(PATH + "/negotiate")) {
+            // Only WebSockets are offered, so clients connect straight away
+            int length = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+            in.skipBytes(length);
+            var response = "{\"connectionId\":\"" + UUID.randomUUID() + "\",\"availableTransports\":"
+                    + "[{\"transport\":\"WebSockets\",\"transferFormats\":[\"Text\",\"Binary\"]}]}";
+            var bytes = response.getBytes(StandardCharsets.UTF_8);
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + bytes.length + "\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.flush();
+            return;
+        }
+        if (!target.startsWith(PATH) || !"websocket".equalsIgnoreCase(headers.get("upgrade"))) {
+            out.write("HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return;
+        }
+
+        var webSocket = new WebSocketStream(in, out);
+        webSocket.accept(headers.get("sec-websocket-key"));
+        new Session(webSocket).run();
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+        var line = new StringBuilder();
+        for (int c = in.read(); c != -1 && c != '\n'; c = in.read())
+            if (c != '\r') line.append((char) c);
+        return line.toString();
+    }
+
+    private static String jsonInvocation(String target, String arguments) {
+        return "{\"type\":1,\"target\":\"" + target + "\",\"arguments\":[" + arguments + "]}\u001e";
+    }
+
+    private class Session {
+        // One connected bot: protocol handshake, registration, then the whole match. Client messages are read on a thread of their own
+        private final WebSocketStream webSocket;
+        private final AtomicInteger actions;
+        private final Object registration;
+        private boolean binary;
+        private volatile boolean registered, closed;
+
+        Session(WebSocketStream webSocket) {
+            this.webSocket = webSocket;
+            this.actions = new AtomicInteger();
+            this.registration = new Object();
+        }
+
+        void run() throws IOException, InterruptedException {
+            var handshake = webSocket.read();
+            if (handshake == null) return;
+            int end = 0;
+            while (end < handshake.length && handshake[end] != MessagePackHubProtocol.RECORD_SEPARATOR) ++end;
+            var protocol = new JsonParser().parse(new String(handshake, 0, end, StandardCharsets.UTF_8)).getAsJsonObject().get("protocol").getAsString();
+            binary = protocol.equals(MessagePackHubProtocol.NAME);
+            if (!binary && !protocol.equals("json")) {
+                send(("{\"error\":\"Unsupported protocol " + protocol + "\"}\u001e").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            send("{}\u001e".getBytes(StandardCharsets.UTF_8));
+
+            var reader = new Thread(this::readMessages, Thread.currentThread().getName() + "-reader");
+            reader.setDaemon(true);
+            reader.start();
+            synchronized (registration) {
+                while (!registered && !closed) registration.wait();
+            }
+            if (closed) return;
+
+            var body = new MsgPackWriter();
+            var out = new MsgPackWriter();
+            send(invocation(body, out, "Registered", botId));
+            long sentBefore = webSocket.getBytesWritten();
+            long next = System.nanoTime();
+            int served = 0;
+            for (var frame : frames) {
+                if (closed) break;
+                if (binary) {
+                    out.clear();
+                    MessagePackHubProtocol.writeGameState(body, out, frame);
+                    send(out.toByteArray());
+                } else {
+                    send(jsonInvocation("ReceiveGameState", gson.toJson(frame)).getBytes(StandardCharsets.UTF_8));
+                }
+                ++served;
+                next += tickMillis * 1_000_000L;
+                long wait = next - System.nanoTime();
+                if (wait > 0) Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            }
+            long sent = webSocket.getBytesWritten() - sentBefore;
+            if (!closed) {
+                send(invocation(body, out, "ReceiveGameComplete", "Match served by the stand-in hub"));
+                send(binary ? closeMessage(body, out) : "{\"type\":7}\u001e".getBytes(StandardCharsets.UTF_8));
+                webSocket.close();
+                reader.join(CLOSE_TIMEOUT_MS);
+            }
+
+            System.out.printf("[INFO] Served %d ticks over %s: %d bytes/tick on the wire, %d actions received%n",
+                    served, protocol, served > 0 ? sent / served : 0, actions.get());
+        }
+
+        private byte[] invocation(MsgPackWriter body, MsgPackWriter out, String target, Object argument) {
+            if (!binary) {
+                var value = argument instanceof String ? gson.toJson(argument) : "\"" + argument + "\"";
+                return jsonInvocation(target, value).getBytes(StandardCharsets.UTF_8);
+            }
+            out.clear();
+            MessagePackHubProtocol.writeInvocation(body, out, target, argument);
+            return out.toByteArray();
+        }
+
+        private byte[] closeMessage(MsgPackWriter body, MsgPackWriter out) {
+            out.clear();
+            MessagePackHubProtocol.writeClose(body, out, null);
+            return out.toByteArray();
+        }
+
+        private void send(byte[] message) throws IOException {
+            webSocket.write(binary ? WebSocketStream.BINARY : WebSocketStream.TEXT, message, 0, message.length);
+        }
+
+        // Counts actions and waits for the registration; anything else the bot sends is ignored
+        private void readMessages() {
+            var reader = new MsgPackReader();
+            var handler = new MessagePackHubProtocol.Handler() {
+                @Override
+                public void invocation(String target, int arguments, MsgPackReader reader) {
+                    received(target);
+                }
+
+                @Override
+                public void close(String error) {
+                }
+            };
+            try {
+                for (var message = webSocket.read(); message != null; message = webSocket.read()) {
+                    if (binary) {
+                        MessagePackHubProtocol.parseMessages(message, 0, message.length, reader, handler);
+                        continue;
+                    }
+                    for (var record : new String(message, StandardCharsets.UTF_8).split("\u001e")) {
+                        if (record.isBlank()) continue;
+                        var json = new JsonParser().parse(record).getAsJsonObject();
+                        if (json.has("target")) received(json.get("target").getAsString());
+                    }
+                }
+            } catch (IOException e) {
+                // The bot went away
+            }
+            closed = true;
+            synchronized (registration) {
+                registration.notifyAll();
+            }
+        }
+
+        private void received(String target) {
+            if (target.equals("SendPlayerAction")) {
+                actions.incrementAndGet();
+            } else if (target.equals("Register")) {
+                synchronized (registration) {
+                    registered = true;
+                    registration.notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package Rakus.Hub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+class WebSocketStream {
+    // Server side of a WebSocket (RFC 6455) over an accepted socket, just enough for the stand-in hub
+    static final int TEXT = 1, BINARY = 2, CLOSE = 8, PING = 9, PONG = 10;
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final DataInputStream in;
+    private final OutputStream out;
+    private long bytesWritten;
+
+    WebSocketStream(DataInputStream in, OutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    // Accepts an upgrade request whose Sec-WebSocket-Key header was given
+    void accept(String key) throws IOException {
+        String accept;
+        try {
+            var sha1 = MessageDigest.getInstance("SHA-1").digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII));
+            accept = Base64.getEncoder().encodeToString(sha1);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\nSec-WebSocket-Accept: " + accept + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    // Bytes written in frames so far, frame headers included
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // Reads the next text or binary message; returns null once the client closes the connection
+    byte[] read() throws IOException {
+        var message = new ByteArrayOutputStream();
+        while (true) {
+            int first = in.readUnsignedByte(), second = in.readUnsignedByte();
+            int opcode = first & 0x0f;
+            long length = second & 0x7f;
+            if (length == 126) length = in.readUnsignedShort();
+            else if (length == 127) length = in.readLong();
+            var mask = new byte[4];
+            if ((second & 0x80) != 0) in.readFully(mask);
+            var payload = new byte[(int) length];
+            in.readFully(payload);
+            for (int i = 0; i < payload.length; i++) payload[i] ^= mask[i & 3];
+
+            if (opcode == CLOSE) {
+                write(CLOSE, payload, 0, Math.min(payload.length, 2));
+                return null;
+            }
+            if (opcode == PING) {
+                write(PONG, payload, 0, payload.length);
+                continue;
+            }
+            if (opcode == PONG) continue;
+            message.write(payload);
+            if ((first & 0x80) != 0) return message.toByteArray();
+        }
+    }
+
+    // Starts the closing handshake with a normal closure; the client's close frame then ends read()
+    void close() throws IOException {
+        write(CLOSE, new byte[]{0x03, (byte) 0xe8}, 0, 2);
+    }
+
+    // Writes a single unfragmented, unmasked frame
+    synchronized void write(int opcode, byte[] payload, int offset, int length) throws IOException {
+        var header = new byte[10];
+        int size = 2;
+        header[0] = (byte) (0x80 | opcode);
+        if (length < 126) {
+            header[1] = (byte) length;
+        } else if (length <= 0xffff) {
+            header[1] = 126;
+            header[2] = (byte) (length >>> 8);
+            header[3] = (byte) length;
+            size = 4;
+        } else {
+            header[1] = 127;
+            for (int i = 0; i < 8; i++) header[2 + i] = (byte) ((long) length >>> (56 - 8 * i));
+            size = 10;
+        }
+        out.write(header, 0, size);
+        out.write(payload, offset, length);
+        out.flush();
+        bytesWritten += size + length;
+    }
+}
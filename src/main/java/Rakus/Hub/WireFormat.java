@@ -0,0 +1,22 @@
+package Rakus.Hub;
+
+public enum WireFormat {
+    // Hub protocol the bot talks to the runner with
+    /* ------------------------------------------------------------------------------------------------------- */
+    // JSON - SignalR's default text protocol through its HubConnection; game states are decoded by StateFrameAdapter
+    JSON,
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // MESSAGEPACK - Binary protocol through MessagePackHubConnection; game states are decoded by MessagePackHubProtocol
+    MESSAGEPACK;
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Returns the format with a given name (case-insensitive), or JSON if the name is null or unknown
+    public static WireFormat fromName(String name) {
+        if (name != null) {
+            for (var format : values())
+                if (format.name().equalsIgnoreCase(name.trim())) return format;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,134 @@
+package Rakus.Log;
+
+import Rakus.Vars;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public final class Log {
+    // Asynchronous, allocation-free logging through a fixed ring drained by a single writer thread; per-category levels come from
+    // the RAKUS_LOG environment variable, e.g. "STATE=WARN,TRACK=DEBUG" ("*" sets every category, the rest log at INFO)
+    private static final LogEvent[] ring = new LogEvent[Vars.LOG_RING_SIZE];
+    private static final int mask = Vars.LOG_RING_SIZE - 1;
+    private static final AtomicLong claimed = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final LongAdder dropped = new LongAdder();
+    private static final LogLevel[] levels = new LogLevel[LogCategory.values().length];
+    // Returned for disabled or dropped events; ignores its arguments
+    private static final LogEvent NOOP = new LogEvent();
+
+    static {
+        for (int i = 0; i < ring.length; i++) ring[i] = new LogEvent();
+        configure(System.getenv("RAKUS_LOG"));
+
+        var writer = new Thread(Log::drain, "rakus-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private Log() {
+    }
+
+    // Applies a level spec such as "STATE=WARN,TRACK=DEBUG"; unknown categories or levels are ignored
+    public static void configure(String spec) {
+        for (var category : LogCategory.values()) levels[category.ordinal()] = LogLevel.INFO;
+        if (spec == null || spec.isBlank()) return;
+
+        for (var entry : spec.split(",")) {
+            var parts = entry.split("=");
+            if (parts.length != 2) continue;
+            var level = LogLevel.fromName(parts[1], null);
+            if (level == null) continue;
+            for (var category : LogCategory.values()) {
+                if (parts[0].trim().equals("*") || category.name().equalsIgnoreCase(parts[0].trim()))
+                    levels[category.ordinal()] = level;
+            }
+        }
+    }
+
+    public static void setLevel(LogCategory category, LogLevel level) {
+        levels[category.ordinal()] = level;
+    }
+
+    public static LogLevel getLevel(LogCategory category) {
+        return levels[category.ordinal()];
+    }
+
+    // Returns whether events of a level would be logged in a category; use it to skip computing arguments of disabled events
+    public static boolean isEnabled(LogCategory category, LogLevel level) {
+        return level != LogLevel.OFF && level.compareTo(levels[category.ordinal()]) >= 0;
+    }
+
+    public static LogEvent debug(LogCategory category, String template) {
+        return at(category, LogLevel.DEBUG, template);
+    }
+
+    public static LogEvent info(LogCategory category, String template) {
+        return at(category, LogLevel.INFO, template);
+    }
+
+    public static LogEvent warn(LogCategory category, String template) {
+        return at(category, LogLevel.WARN, template);
+    }
+
+    public static LogEvent error(LogCategory category, String template) {
+        return at(category, LogLevel.ERROR, template);
+    }
+
+    // Starts an event with a "{}" template; add arguments with arg() and finish with log()
+    public static LogEvent at(LogCategory category, LogLevel level, String template) {
+        if (!isEnabled(category, level)) return NOOP;
+
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - written.get() >= ring.length) {
+                dropped.increment();
+                return NOOP;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        var event = ring[(int) (sequence & mask)];
+        event.reset(sequence, category, level, template);
+        return event;
+    }
+
+    // Returns how many events were dropped because the ring was full
+    public static long getDropped() {
+        return dropped.sum();
+    }
+
+    // Waits up to a timeout for every event claimed so far to be written; returns whether the writer caught up
+    public static boolean flush(long timeoutNanos) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (written.get() < target) {
+            if (System.nanoTime() - deadline >= 0) return false;
+            LockSupport.parkNanos(Vars.LOG_IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private static void drain() {
+        PrintStream out = System.out;
+        var sb = new StringBuilder(256);
+        long next = 0;
+        while (true) {
+            var event = ring[(int) (next & mask)];
+            if (event.published != next + 1) {
+                out.flush();
+                LockSupport.parkNanos(Vars.LOG_IDLE_PARK_NANOS);
+                continue;
+            }
+
+            sb.setLength(0);
+            sb.append('[').append(event.level.name()).append("] ");
+            event.render(sb);
+            out.println(sb);
+            event.release();
+            written.lazySet(++next);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package Rakus.Log;
+
+public enum LogCategory {
+    // Tick boundaries
+    TICK,
+    // Bot info and state evaluation
+    STATE,
+    // Actions taken by bot states
+    ACTION,
+    // Tracking of fired teleporters and supernovas
+    TRACK,
+    // Connection to the runner
+    NET,
+    // Periodic tick metrics summaries
+    METRICS
+}
@@ -0,0 +1,86 @@
+package Rakus.Log;
+
+public final class LogEvent {
+    // One slot of the log ring: an unformatted template and its arguments, which must be immutable; every event must end with log()
+    static final int MAX_ARGS = 8;
+    private static final byte LONG = 0, DOUBLE = 1, REF = 2;
+
+    // Sequence + 1 once the producer is done with the event
+    volatile long published = -1;
+    private long sequence = -1;
+    LogCategory category;
+    LogLevel level;
+    private String template;
+    private int argc;
+    private final byte[] kinds = new byte[MAX_ARGS];
+    private final long[] nums = new long[MAX_ARGS];
+    private final Object[] refs = new Object[MAX_ARGS];
+
+    // Claims the slot for a new event
+    void reset(long sequence, LogCategory category, LogLevel level, String template) {
+        this.sequence = sequence;
+        this.category = category;
+        this.level = level;
+        this.template = template;
+        this.argc = 0;
+    }
+
+    public LogEvent arg(long value) {
+        if (sequence < 0 || argc == MAX_ARGS) return this;
+        kinds[argc] = LONG;
+        nums[argc++] = value;
+        return this;
+    }
+
+    // Doubles are rendered with three decimals
+    public LogEvent arg(double value) {
+        if (sequence < 0 || argc == MAX_ARGS) return this;
+        kinds[argc] = DOUBLE;
+        nums[argc++] = Double.doubleToRawLongBits(value);
+        return this;
+    }
+
+    public LogEvent arg(boolean value) {
+        return arg((Object) value);
+    }
+
+    public LogEvent arg(Object value) {
+        if (sequence < 0 || argc == MAX_ARGS) return this;
+        kinds[argc] = REF;
+        refs[argc++] = value;
+        return this;
+    }
+
+    // Hands the event to the writer
+    public void log() {
+        if (sequence < 0) return;
+        published = sequence + 1;
+    }
+
+    // Substitutes the arguments into the template, in order; surplus placeholders are kept as is
+    void render(StringBuilder sb) {
+        int arg = 0, from = 0;
+        for (int at = template.indexOf("{}"); at != -1 && arg < argc; at = template.indexOf("{}", from)) {
+            sb.append(template, from, at);
+            switch (kinds[arg]) {
+                case LONG:
+                    sb.append(nums[arg]);
+                    break;
+                case DOUBLE:
+                    sb.append(String.format("%.3f", Double.longBitsToDouble(nums[arg])));
+                    break;
+                default:
+                    sb.append(refs[arg]);
+            }
+            ++arg;
+            from = at + 2;
+        }
+        sb.append(template, from, template.length());
+    }
+
+    // Drops references held by a written event so the ring does not keep them alive
+    void release() {
+        for (int i = 0; i < argc; i++) refs[i] = null;
+        template = null;
+    }
+}
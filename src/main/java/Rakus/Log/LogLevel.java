@@ -0,0 +1,15 @@
+package Rakus.Log;
+
+public enum LogLevel {
+    // Ordered by severity; a category logs events at or above its level, OFF silences it
+    DEBUG, INFO, WARN, ERROR, OFF;
+
+    // Returns the level with the given name (case-insensitive), or a fallback if the name is unknown
+    public static LogLevel fromName(String name, LogLevel fallback) {
+        if (name == null) return fallback;
+        for (var level : values()) {
+            if (level.name().equalsIgnoreCase(name.trim())) return level;
+        }
+        return fallback;
+    }
+}
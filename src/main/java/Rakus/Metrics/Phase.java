@@ -0,0 +1,32 @@
+package Rakus.Metrics;
+
+public enum Phase {
+    // Parsing a received game state into a state frame (on the receiving thread)
+    DECODE,
+    // Waiting for the shared world's lock while other bots read or apply a state (on the decision thread)
+    LOCK_WAIT,
+    // Applying the latest received state frame to the world model, unless another bot already applied a later one (on the decision thread)
+    APPLY,
+    // BotService.setGameState, including index building and updateSelfState
+    SET_STATE,
+    // BotService.update
+    UPDATE,
+    // Building the tick's trajectory prediction table
+    PREDICT,
+    // Bringing the bot's hazard field up to date
+    HAZARDS,
+    // Scoring all bot states (wall time; per-state times are kept separately)
+    EVALUATE,
+    // The selected state's action
+    ACTION,
+    // Lookahead planning of the bot's movement (only with a planner)
+    PLAN,
+    // BotState.ANY's action
+    ANY,
+    // Sending the player action to the runner
+    SEND,
+    // From receiving a state to having sent the action for it
+    TICK,
+    // Garbage collection time that elapsed since the previous tick
+    GC
+}
@@ -0,0 +1,46 @@
+package Rakus.Metrics;
+
+import java.beans.ConstructorProperties;
+
+public class PhaseStats {
+    // Immutable summary of one histogram, in milliseconds; exported over JMX as composite data
+    private final String name;
+    private final long count;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    @ConstructorProperties({"name", "count", "p50Millis", "p99Millis", "maxMillis"})
+    public PhaseStats(String name, long count, double p50Millis, double p99Millis, double maxMillis) {
+        this.name = name;
+        this.count = count;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public static PhaseStats of(String name, LatencyHistogram histogram) {
+        return new PhaseStats(name, histogram.getCount(),
+                histogram.getPercentile(0.50) / 1e6, histogram.getPercentile(0.99) / 1e6, histogram.getMax() / 1e6);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
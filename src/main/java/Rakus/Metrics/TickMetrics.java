@@ -0,0 +1,216 @@
+package Rakus.Metrics;
+
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Log.LogLevel;
+import Rakus.Struct.AnyCheck;
+import Rakus.Struct.BotState;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class TickMetrics implements TickMetricsMXBean {
+    // Per-bot latency histograms for every tick phase and bot state evaluator, plus tick counters; may be recorded from any thread
+    // values() clones its array on every call
+    private static final Phase[] PHASES = Phase.values();
+    private static final BotState[] STATES = BotState.values();
+    private static final AnyCheck[] CHECKS = AnyCheck.values();
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private final LatencyHistogram[] evaluators = new LatencyHistogram[BotState.values().length];
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong missedTicks = new AtomicLong();
+    private final AtomicLong skippedTicks = new AtomicLong();
+    // Work the tick scheduler left out: evaluators shed for time or deferred by cadence, and ANY checks shed for time
+    private final AtomicLongArray shedEvaluators = new AtomicLongArray(BotState.values().length);
+    private final AtomicLongArray deferredEvaluators = new AtomicLongArray(BotState.values().length);
+    private final AtomicLongArray shedChecks = new AtomicLongArray(AnyCheck.values().length);
+    // Game objects of the computed ticks decoded fully, lazily (type and position only), lazily then up front for sharing, and lazily
+    // then on demand
+    private final AtomicLong decodedFully = new AtomicLong();
+    private final AtomicLong decodedLazily = new AtomicLong();
+    private final AtomicLong decodedShared = new AtomicLong();
+    private final AtomicLong decodedOnDemand = new AtomicLong();
+    private final GarbageCollectorMXBean[] collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+    private long lastGcMillis;
+
+    public TickMetrics() {
+        for (int i = 0; i < phases.length; i++) phases[i] = new LatencyHistogram();
+        for (int i = 0; i < evaluators.length; i++) evaluators[i] = new LatencyHistogram();
+        lastGcMillis = totalGcMillis();
+    }
+
+    // Registers the metrics with the platform MBean server as Rakus:type=TickMetrics,name=<name>; failures are logged, not thrown
+    public void register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("Rakus:type=TickMetrics,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            Log.warn(LogCategory.METRICS, "Failed to register tick metrics: {}").arg(e.toString()).log();
+        }
+    }
+
+    public void record(Phase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    public void recordEvaluator(BotState state, long nanos) {
+        evaluators[state.ordinal()].record(nanos);
+    }
+
+    // Counts a computed tick, any ticks missed since the previous one (lastTick is -1 before the first) and the GC time in between
+    public void tickComputed(int tick, int lastTick) {
+        ticks.incrementAndGet();
+        if (lastTick >= 0 && tick > lastTick + 1) missedTicks.addAndGet(tick - lastTick - 1);
+
+        long gcMillis = totalGcMillis();
+        record(Phase.GC, (gcMillis - lastGcMillis) * 1_000_000L);
+        lastGcMillis = gcMillis;
+    }
+
+    public void tickSkipped() {
+        skippedTicks.incrementAndGet();
+    }
+
+    public void evaluatorShed(BotState state) {
+        shedEvaluators.incrementAndGet(state.ordinal());
+    }
+
+    public void evaluatorDeferred(BotState state) {
+        deferredEvaluators.incrementAndGet(state.ordinal());
+    }
+
+    public void checkShed(AnyCheck check) {
+        shedChecks.incrementAndGet(check.ordinal());
+    }
+
+    public void decoded(int fully, int lazily, int shared, int onDemand) {
+        decodedFully.addAndGet(fully);
+        decodedLazily.addAndGet(lazily);
+        decodedShared.addAndGet(shared);
+        decodedOnDemand.addAndGet(onDemand);
+    }
+
+    // Logs a summary line per phase and evaluator; logs from templates only, so that dumping on the decision thread allocates nothing
+    public void dump() {
+        if (!Log.isEnabled(LogCategory.METRICS, LogLevel.INFO)) return;
+
+        Log.info(LogCategory.METRICS, "Ticks: {}, missed: {}, skipped: {}").arg(ticks.get()).arg(missedTicks.get()).arg(skippedTicks.get()).log();
+        long n = Math.max(1, ticks.get());
+        Log.info(LogCategory.METRICS, "Objects decoded per tick: {} fully, {} lazily, {} for sharing, {} on demand")
+                .arg((double) decodedFully.get() / n).arg((double) decodedLazily.get() / n).arg((double) decodedShared.get() / n)
+                .arg((double) decodedOnDemand.get() / n).log();
+        for (var phase : PHASES)
+            dump("  {}: n={} p50={} ms p99={} ms max={} ms", phase, phases[phase.ordinal()]);
+        for (var state : STATES)
+            if (evaluators[state.ordinal()].getCount() > 0) dump("  EVAL {}: n={} p50={} ms p99={} ms max={} ms", state, evaluators[state.ordinal()]);
+        for (var state : STATES) {
+            long shed = shedEvaluators.get(state.ordinal()), deferred = deferredEvaluators.get(state.ordinal());
+            if (shed > 0) Log.info(LogCategory.METRICS, "  SHED {}: {}").arg(state).arg(shed).log();
+            if (deferred > 0) Log.info(LogCategory.METRICS, "  DEFER {}: {}").arg(state).arg(deferred).log();
+        }
+        for (var check : CHECKS) {
+            long shed = shedChecks.get(check.ordinal());
+            if (shed > 0) Log.info(LogCategory.METRICS, "  SHED {}: {}").arg(check).arg(shed).log();
+        }
+    }
+
+    private static void dump(String template, Enum<?> name, LatencyHistogram histogram) {
+        Log.info(LogCategory.METRICS, template).arg(name).arg(histogram.getCount()).arg(histogram.getPercentile(0.50) / 1e6)
+                .arg(histogram.getPercentile(0.99) / 1e6).arg(histogram.getMax() / 1e6).log();
+    }
+
+    @Override
+    public List<PhaseStats> getPhases() {
+        var res = new ArrayList<PhaseStats>();
+        for (var phase : Phase.values())
+            res.add(PhaseStats.of(phase.name(), phases[phase.ordinal()]));
+        return res;
+    }
+
+    @Override
+    public List<PhaseStats> getEvaluators() {
+        var res = new ArrayList<PhaseStats>();
+        for (var state : BotState.values())
+            res.add(PhaseStats.of(state.name(), evaluators[state.ordinal()]));
+        return res;
+    }
+
+    @Override
+    public Map<String, Long> getShed() {
+        var res = new LinkedHashMap<String, Long>();
+        for (var state : BotState.values()) {
+            if (shedEvaluators.get(state.ordinal()) > 0) res.put("SHED " + state.name(), shedEvaluators.get(state.ordinal()));
+            if (deferredEvaluators.get(state.ordinal()) > 0) res.put("DEFER " + state.name(), deferredEvaluators.get(state.ordinal()));
+        }
+        for (var check : AnyCheck.values())
+            if (shedChecks.get(check.ordinal()) > 0) res.put("SHED " + check.name(), shedChecks.get(check.ordinal()));
+        return res;
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    @Override
+    public long getMissedTicks() {
+        return missedTicks.get();
+    }
+
+    @Override
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+    @Override
+    public long getDecodedFully() {
+        return decodedFully.get();
+    }
+
+    @Override
+    public long getDecodedLazily() {
+        return decodedLazily.get();
+    }
+
+    @Override
+    public long getDecodedShared() {
+        return decodedShared.get();
+    }
+
+    @Override
+    public long getDecodedOnDemand() {
+        return decodedOnDemand.get();
+    }
+
+    @Override
+    public void reset() {
+        for (var histogram : phases) histogram.reset();
+        for (var histogram : evaluators) histogram.reset();
+        ticks.set(0);
+        missedTicks.set(0);
+        skippedTicks.set(0);
+        decodedFully.set(0);
+        decodedLazily.set(0);
+        decodedShared.set(0);
+        decodedOnDemand.set(0);
+        for (int i = 0; i < shedEvaluators.length(); i++) {
+            shedEvaluators.set(i, 0);
+            deferredEvaluators.set(i, 0);
+        }
+        for (int i = 0; i < shedChecks.length(); i++) shedChecks.set(i, 0);
+    }
+
+    private long totalGcMillis() {
+        long total = 0;
+        for (var collector : collectors)
+            total += Math.max(0, collector.getCollectionTime());
+        return total;
+    }
+}
@@ -0,0 +1,37 @@
+package Rakus.Metrics;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TickMetricsMXBean {
+    // Latency summaries of every tick phase
+    List<PhaseStats> getPhases();
+
+    // Latency summaries of every bot state evaluator
+    List<PhaseStats> getEvaluators();
+
+    // How often each evaluator or ANY check was shed (SHED) or deferred by cadence (DEFER) by the tick scheduler; only non-zero entries
+    Map<String, Long> getShed();
+
+    long getTicks();
+
+    // Ticks that passed without an action being computed for them (gaps between consecutive computed ticks)
+    long getMissedTicks();
+
+    // Decision wake-ups that found no new tick to compute
+    long getSkippedTicks();
+
+    // Game objects of the computed ticks whose attributes were all decoded when the tick was applied
+    long getDecodedFully();
+
+    // Game objects of the computed ticks of which only the type and position were decoded, the rest being left until first read
+    long getDecodedLazily();
+
+    // Lazily decoded game objects whose remaining attributes were decoded up front, so that other threads could read them
+    long getDecodedShared();
+
+    // Lazily decoded game objects whose remaining attributes were read, and so decoded, by the time their tick's action was computed
+    long getDecodedOnDemand();
+
+    void reset();
+}
@@ -0,0 +1,230 @@
+package Rakus.Plan;
+
+import Enums.ObjectTypes;
+import Rakus.Sim.SimConfig;
+import Rakus.Struct.TickContext;
+import Rakus.Struct.TopK;
+import Rakus.Util.Geometry;
+import Rakus.Util.Objects;
+import Rakus.Vars;
+
+class ForwardModel {
+    // Compact, read-only stand-in for the game around the bot, loaded once per tick, that rollouts advance over without allocating
+    private final SimConfig rules;
+    private final TopK nearest;
+
+    // Candidate headings; index 0 is the heading the selected bot state chose
+    final int[] headings = new int[Vars.PLAN_HEADINGS + 1];
+
+    private double selfX, selfY;
+    private int selfSize, selfSpeed;
+    private int centerX, centerY, radius;
+
+    private int foodCount;
+    private final double[] foodX, foodY;
+    private final int[] foodSize;
+
+    private int gasCount;
+    private final double[] gasX, gasY;
+    private final int[] gasSize;
+
+    private int enemyCount;
+    private final double[] enemyX, enemyY, enemyVx, enemyVy;
+    private final int[] enemySize;
+
+    private int torpedoCount;
+    private final double[] torpedoX, torpedoY, torpedoVx, torpedoVy;
+    private final int[] torpedoSize;
+
+    ForwardModel(SimConfig rules) {
+        this.rules = rules;
+        // Eaten food and spent salvos are tracked in 64-bit masks
+        int food = Math.min(64, Vars.PLAN_FOOD), torpedoes = Math.min(64, Vars.PLAN_TORPEDOES);
+        this.nearest = new TopK(Math.max(Math.max(food, torpedoes), Math.max(Vars.PLAN_GAS_CLOUDS, Vars.PLAN_ENEMIES)));
+        this.foodX = new double[food];
+        this.foodY = new double[food];
+        this.foodSize = new int[food];
+        this.gasX = new double[Vars.PLAN_GAS_CLOUDS];
+        this.gasY = new double[Vars.PLAN_GAS_CLOUDS];
+        this.gasSize = new int[Vars.PLAN_GAS_CLOUDS];
+        this.enemyX = new double[Vars.PLAN_ENEMIES];
+        this.enemyY = new double[Vars.PLAN_ENEMIES];
+        this.enemyVx = new double[Vars.PLAN_ENEMIES];
+        this.enemyVy = new double[Vars.PLAN_ENEMIES];
+        this.enemySize = new int[Vars.PLAN_ENEMIES];
+        this.torpedoX = new double[torpedoes];
+        this.torpedoY = new double[torpedoes];
+        this.torpedoVx = new double[torpedoes];
+        this.torpedoVy = new double[torpedoes];
+        this.torpedoSize = new int[torpedoes];
+    }
+
+    int enemyCapacity() {
+        return enemySize.length;
+    }
+
+    // Loads the surroundings of the tick's bot; greedyHeading becomes candidate 0
+    void load(TickContext ctx, int greedyHeading) {
+        var bot = ctx.getBot();
+        var gameState = ctx.getGameState();
+        var world = ctx.getWorld();
+        var trajectories = ctx.getTrajectories();
+
+        headings[0] = greedyHeading;
+        for (int i = 1; i < headings.length; i++)
+            headings[i] = (i - 1) * 360 / Vars.PLAN_HEADINGS;
+
+        selfX = bot.getPosition().x;
+        selfY = bot.getPosition().y;
+        selfSize = bot.getSize();
+        selfSpeed = bot.getSpeed();
+        centerX = world.getCenterPoint() != null ? world.getCenterPoint().x : 0;
+        centerY = world.getCenterPoint() != null ? world.getCenterPoint().y : 0;
+        radius = world.getRadius() != null ? world.getRadius() : rules.worldRadius;
+
+        // Food and gas clouds may lie beyond what was decoded for sharing (see TickDiff.decodeShared), so their sizes are read as received
+        Objects.findNearest(gameState, bot, Objects::isFood, nearest);
+        foodCount = Math.min(nearest.size(), foodSize.length);
+        for (int i = 0; i < foodCount; i++) {
+            var food = nearest.get(i);
+            foodX[i] = food.getPosition().x;
+            foodY[i] = food.getPosition().y;
+            foodSize[i] = food.receivedSize();
+        }
+
+        Objects.findNearest(gameState, bot, obj -> obj.getGameObjectType() == ObjectTypes.GAS_CLOUD, nearest);
+        gasCount = Math.min(nearest.size(), gasSize.length);
+        for (int i = 0; i < gasCount; i++) {
+            var cloud = nearest.get(i);
+            gasX[i] = cloud.getPosition().x;
+            gasY[i] = cloud.getPosition().y;
+            gasSize[i] = cloud.receivedSize();
+        }
+
+        // Enemy players, nearest first; salvos only if they are heading our way (which also leaves out the bot's own)
+        enemyCount = 0;
+        nearest.clear();
+        for (int row = 0; row < trajectories.count(); row++) {
+            var obj = trajectories.object(row);
+            if (ctx.isEnemy(obj)) nearest.offer(obj, Objects.distanceSqBetween(bot, obj));
+        }
+        nearest.sort();
+        for (int i = 0; i < Math.min(nearest.size(), enemySize.length); i++) {
+            int row = trajectories.find(nearest.get(i));
+            enemyX[i] = nearest.get(i).getPosition().x;
+            enemyY[i] = nearest.get(i).getPosition().y;
+            enemyVx[i] = trajectories.vx(row);
+            enemyVy[i] = trajectories.vy(row);
+            enemySize[i] = nearest.get(i).getSize();
+            ++enemyCount;
+        }
+
+        torpedoCount = 0;
+        nearest.clear();
+        for (int row = 0; row < trajectories.count(); row++) {
+            var obj = trajectories.object(row);
+            if (obj.getGameObjectType() == ObjectTypes.TORPEDO_SALVO && trajectories.approachDiff(obj) >= 90)
+                nearest.offer(obj, Objects.distanceSqBetween(bot, obj));
+        }
+        nearest.sort();
+        for (int i = 0; i < Math.min(nearest.size(), torpedoSize.length); i++) {
+            int row = trajectories.find(nearest.get(i));
+            torpedoX[i] = nearest.get(i).getPosition().x;
+            torpedoY[i] = nearest.get(i).getPosition().y;
+            torpedoVx[i] = trajectories.vx(row);
+            torpedoVy[i] = trajectories.vy(row);
+            torpedoSize[i] = nearest.get(i).getSize();
+            ++torpedoCount;
+        }
+        nearest.clear();
+    }
+
+    // Puts a rollout back at the start of the tick
+    void reset(Rollout r) {
+        r.x = selfX;
+        r.y = selfY;
+        r.size = selfSize;
+        r.tick = 0;
+        r.eaten = 0;
+        r.hit = 0;
+        r.dead = false;
+        for (int i = 0; i < enemyCount; i++) r.enemySize[i] = enemySize[i];
+    }
+
+    // Moves the bot along a heading for some ticks, applying collisions after every move like the simulator does
+    void advance(Rollout r, int heading, int ticks) {
+        double dx = selfSpeed * Geometry.cos(heading), dy = selfSpeed * Geometry.sin(heading);
+        for (int k = 0; k < ticks && !r.dead; k++) {
+            r.x += dx;
+            r.y += dy;
+            int t = ++r.tick;
+
+            for (int i = 0; i < foodCount; i++) {
+                if ((r.eaten & (1L << i)) == 0 && overlaps(r, foodX[i], foodY[i], foodSize[i])) {
+                    r.size += foodSize[i];
+                    r.eaten |= 1L << i;
+                }
+            }
+            for (int i = 0; i < gasCount; i++) {
+                if (overlaps(r, gasX[i], gasY[i], gasSize[i])) r.size -= rules.gasCloudCost;
+            }
+            for (int i = 0; i < torpedoCount; i++) {
+                if ((r.hit & (1L << i)) == 0 && overlaps(r, torpedoX[i] + torpedoVx[i] * t, torpedoY[i] + torpedoVy[i] * t, torpedoSize[i])) {
+                    r.size -= Math.min(torpedoSize[i], r.size);
+                    r.hit |= 1L << i;
+                }
+            }
+            // The larger of two touching players consumes up to half its own size of the smaller one
+            for (int i = 0; i < enemyCount; i++) {
+                int other = r.enemySize[i];
+                if (other == 0 || other == r.size || !overlaps(r, enemyX[i] + enemyVx[i] * t, enemyY[i] + enemyVy[i] * t, other)) continue;
+                if (other > r.size) {
+                    int consumed = Math.min(r.size, Math.max(1, other / 2));
+                    r.size -= consumed;
+                    r.enemySize[i] += consumed;
+                } else {
+                    int consumed = Math.min(other, Math.max(1, r.size / 2));
+                    r.size += consumed;
+                    r.enemySize[i] = other - consumed < rules.minSize ? 0 : other - consumed;
+                }
+            }
+
+            int worldRadius = Math.max(rules.minWorldRadius, radius - rules.shrinkPerTick * t);
+            if (Math.hypot(r.x - centerX, r.y - centerY) + r.size > worldRadius) r.size -= rules.outsideWorldCost;
+            if (r.size < rules.minSize) r.dead = true;
+        }
+    }
+
+    // Scores a finished rollout in [-1, 1]: relative growth, less a little for ending far from uneaten food; being consumed scores -1
+    double score(Rollout r) {
+        if (r.dead) return -1;
+        double growth = Math.max(-1, Math.min(1, (double) (r.size - selfSize) / selfSize));
+
+        double nearestSq = Double.MAX_VALUE;
+        for (int i = 0; i < foodCount; i++) {
+            if ((r.eaten & (1L << i)) != 0) continue;
+            double dx = foodX[i] - r.x, dy = foodY[i] - r.y;
+            nearestSq = Math.min(nearestSq, dx * dx + dy * dy);
+        }
+        double distance = nearestSq == Double.MAX_VALUE ? radius : Math.sqrt(nearestSq);
+        return Math.max(-1, growth - Vars.PLAN_FOOD_DISTANCE_WEIGHT * Math.min(1, distance / Math.max(1, radius)));
+    }
+
+    private static boolean overlaps(Rollout r, double x, double y, int size) {
+        double dx = x - r.x, dy = y - r.y, reach = size + r.size;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    // Mutable state of one rollout; each search worker owns one
+    static final class Rollout {
+        double x, y;
+        int size, tick;
+        long eaten, hit;
+        boolean dead;
+        final int[] enemySize;
+
+        Rollout(int enemies) {
+            this.enemySize = new int[enemies];
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package Rakus.Plan;
+
+import Models.PlayerAction;
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Sim.SimConfig;
+import Rakus.Struct.TickContext;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class Planner {
+    // Anytime Monte Carlo tree search over the bot's heading, on a ForwardModel of the tick, until a deadline
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final ForwardModel model;
+    private final Worker[] workers;
+    private final ForkJoinTask<?>[] tasks;
+    private final long[] rootVisits;
+    private int lastRollouts;
+
+    // pool may be null to search on the calling thread only
+    public Planner(long budgetNanos, ForkJoinPool pool) {
+        this(budgetNanos, pool, new SimConfig());
+    }
+
+    public Planner(long budgetNanos, ForkJoinPool pool, SimConfig rules) {
+        this.budgetNanos = budgetNanos;
+        this.pool = pool;
+        this.model = new ForwardModel(rules);
+        // The calling thread searches too, next to one worker per pool thread
+        this.workers = new Worker[1 + (pool != null ? pool.getParallelism() : 0)];
+        this.tasks = new ForkJoinTask<?>[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(model, i);
+            tasks[i] = ForkJoinTask.adapt(workers[i]);
+        }
+        this.rootVisits = new long[model.headings.length];
+    }
+
+    // Time a tick may spend planning, counted from the start of the tick
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    // Rollouts run by the last plan
+    public int getLastRollouts() {
+        return lastRollouts;
+    }
+
+    // Plans the bot's movement until a deadline (a System.nanoTime value), starting from the heading the selected state chose. Replaces
+    // the action's heading and returns true, or leaves the action alone and returns false if the budget allowed too few rollouts
+    public boolean plan(TickContext ctx, PlayerAction action, long deadline) {
+        lastRollouts = 0;
+        if (ctx.getBot() == null || System.nanoTime() >= deadline) return false;
+
+        model.load(ctx, action.heading);
+        long seed = ctx.getWorld().getCurrentTick() != null ? ctx.getWorld().getCurrentTick() : 0;
+        for (var worker : workers) worker.prepare(deadline, seed);
+        for (int i = 1; i < tasks.length; i++) {
+            tasks[i].reinitialize();
+            pool.execute(tasks[i]);
+        }
+        workers[0].run();
+        for (int i = 1; i < tasks.length; i++) tasks[i].join();
+
+        Arrays.fill(rootVisits, 0);
+        for (var worker : workers) {
+            lastRollouts += worker.rollouts;
+            worker.addRootVisits(rootVisits);
+        }
+        if (lastRollouts < Vars.PLAN_MIN_ROLLOUTS) {
+            Log.debug(LogCategory.STATE, "  planner fell back after {} rollouts").arg(lastRollouts).log();
+            return false;
+        }
+
+        // Most visited heading; ties keep the lower index, i.e. the selected state's own heading first
+        int best = 0;
+        for (int a = 1; a < rootVisits.length; a++)
+            if (rootVisits[a] > rootVisits[best]) best = a;
+        Log.debug(LogCategory.STATE, "  planner: heading {} -> {} over {} rollouts").arg(action.heading).arg(model.headings[best]).arg(lastRollouts).log();
+        action.heading = model.headings[best];
+        return true;
+    }
+
+    private static final class Worker implements Runnable {
+        private final ForwardModel model;
+        private final int index;
+        private final int actions;
+        private final ForwardModel.Rollout rollout;
+
+        // Node pool: node n's children are the `actions` nodes starting at child[n], or -1 while it is unexpanded; node 0 is the root
+        private final int[] visits = new int[Vars.PLAN_NODE_POOL];
+        private final double[] value = new double[Vars.PLAN_NODE_POOL];
+        private final int[] child = new int[Vars.PLAN_NODE_POOL];
+        private final int[] path = new int[Vars.PLAN_DECISIONS + 1];
+        private int nodes;
+
+        private long deadline;
+        private long random;
+        private int rollouts;
+
+        Worker(ForwardModel model, int index) {
+            this.model = model;
+            this.index = index;
+            this.actions = model.headings.length;
+            this.rollout = new ForwardModel.Rollout(model.enemyCapacity());
+        }
+
+        void prepare(long deadline, long seed) {
+            this.deadline = deadline;
+            this.random = (seed * 0x9E3779B97F4A7C15L) ^ (index + 1) * 0xBF58476D1CE4E5B9L;
+            if (random == 0) random = 1;
+            this.rollouts = 0;
+            nodes = 1;
+            visits[0] = 0;
+            value[0] = 0;
+            child[0] = -1;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                iterate();
+                ++rollouts;
+            }
+        }
+
+        void addRootVisits(long[] out) {
+            if (child[0] == -1) return;
+            for (int a = 0; a < actions; a++) out[a] += visits[child[0] + a];
+        }
+
+        // Selection and expansion down the tree, a random rollout below it, and backpropagation of the score along the path
+        private void iterate() {
+            var r = rollout;
+            model.reset(r);
+            int node = 0, depth = 0, length = 0;
+            path[length++] = 0;
+
+            while (depth < Vars.PLAN_DECISIONS && !r.dead) {
+                int first = child[node];
+                boolean expanded = first == -1;
+                if (expanded) {
+                    // A full pool stops the tree from growing; the rest of the rollout is random
+                    if (nodes + actions > visits.length) break;
+                    first = expand(node);
+                }
+                int a = expanded ? nextInt(actions) : select(node, first);
+                node = first + a;
+                path[length++] = node;
+                model.advance(r, model.headings[a], Vars.PLAN_ACTION_TICKS);
+                ++depth;
+                if (expanded) break;
+            }
+            for (; depth < Vars.PLAN_DECISIONS && !r.dead; depth++)
+                model.advance(r, model.headings[nextInt(actions)], Vars.PLAN_ACTION_TICKS);
+
+            double score = model.score(r);
+            for (int i = 0; i < length; i++) {
+                ++visits[path[i]];
+                value[path[i]] += score;
+            }
+        }
+
+        private int expand(int node) {
+            int first = nodes;
+            nodes += actions;
+            for (int c = first; c < nodes; c++) {
+                visits[c] = 0;
+                value[c] = 0;
+                child[c] = -1;
+            }
+            child[node] = first;
+            return first;
+        }
+
+        // UCB1; unvisited children are tried first, in order
+        private int select(int node, int first) {
+            double logParent = Math.log(Math.max(1, visits[node]));
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int a = 0; a < actions; a++) {
+                int c = first + a;
+                if (visits[c] == 0) return a;
+                double ucb = value[c] / visits[c] + Vars.PLAN_EXPLORATION * Math.sqrt(logParent / visits[c]);
+                if (ucb > bestScore) {
+                    best = a;
+                    bestScore = ucb;
+                }
+            }
+            return best;
+        }
+
+        // xorshift64*; a java.util.Random per worker would do as well, but this keeps rollouts free of synchronization
+        private int nextInt(int bound) {
+            random ^= random >>> 12;
+            random ^= random << 25;
+            random ^= random >>> 27;
+            return (int) (((random * 0x2545F4914F6CDD1DL) >>> 33) % bound);
+        }
+    }
+}
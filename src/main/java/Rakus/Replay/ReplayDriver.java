@@ -0,0 +1,123 @@
+package Rakus.Replay;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.Position;
+import Models.StateFrame;
+import Rakus.Log.Log;
+import Rakus.Struct.WorldModel;
+import Services.BotService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ReplayDriver {
+    // Replays recorded state logs through a fresh BotService each, optionally writing every tick's action for diffing two builds
+    //   java -cp Rakus.jar:libs/* Rakus.Replay.ReplayDriver [--from TICK] [--to TICK] [--out DIR] [--threads N] [--lazy-radius R] log...
+    public static void main(String[] args) throws Exception {
+        int from = Integer.MIN_VALUE, to = Integer.MAX_VALUE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double lazyRadius = 0;
+        Path outDir = null;
+        var logs = new ArrayList<Path>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from":
+                    from = Integer.parseInt(args[++i]);
+                    break;
+                case "--to":
+                    to = Integer.parseInt(args[++i]);
+                    break;
+                case "--out":
+                    outDir = Path.of(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--lazy-radius":
+                    lazyRadius = Double.parseDouble(args[++i]);
+                    break;
+                default:
+                    logs.add(Path.of(args[i]));
+            }
+        }
+        if (logs.isEmpty()) {
+            System.out.println("Usage: ReplayDriver [--from TICK] [--to TICK] [--out DIR] [--threads N] [--lazy-radius R] log...");
+            return;
+        }
+        if (System.getenv("RAKUS_LOG") == null) Log.configure("*=OFF");
+        if (outDir != null) Files.createDirectories(outDir);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, logs.size())));
+        var results = new ArrayList<Future<Integer>>();
+        long start = System.nanoTime();
+        for (var log : logs) {
+            final int first = from, last = to;
+            final double radius = lazyRadius;
+            final Path out = outDir != null ? outDir.resolve(log.getFileName() + ".actions") : null;
+            results.add(pool.submit(() -> replay(log, first, last, out, radius)));
+        }
+
+        long ticks = 0;
+        for (int i = 0; i < logs.size(); i++) {
+            try {
+                ticks += results.get(i).get();
+            } catch (Exception e) {
+                System.out.printf("[WARN] Failed to replay %s: %s%n", logs.get(i), e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("[INFO] Replayed %d logs, %d ticks in %.2f s (%.0f ticks/s)%n", logs.size(), ticks, seconds, ticks / seconds);
+    }
+
+    // Replays the ticks of one log within [from, to]; returns the number of actions computed
+    public static int replay(Path path, int from, int to, Path actionsOut) throws IOException {
+        return replay(path, from, to, actionsOut, 0);
+    }
+
+    // Same, decoding the game objects further than lazyRadius from the bot lazily (0 decodes everything fully)
+    public static int replay(Path path, int from, int to, Path actionsOut, double lazyRadius) throws IOException {
+        try (var log = new StateLog(path);
+             Writer out = actionsOut != null ? Files.newBufferedWriter(actionsOut) : null) {
+            if (log.getBotId() == null) throw new IOException("No bot recorded in " + path);
+
+            var botService = new BotService();
+            var botId = UUID.fromString(log.getBotId());
+            botService.setBot(new GameObject(botId, 10, 20, 0, new Position(), ObjectTypes.PLAYER, 0, 0, false, 0, 0));
+            var worldModel = new WorldModel();
+            worldModel.setInterest(lazyRadius);
+            worldModel.addInterest(botId.getMostSignificantBits(), botId.getLeastSignificantBits());
+            var frame = new StateFrame();
+
+            int computed = 0;
+            for (int i = log.seek(from); i < log.size() && log.tick(i) <= to; i++) {
+                log.read(i, frame);
+                botService.setGameState(worldModel.apply(frame), worldModel.getLastDiff());
+                if (botService.getBot() == null) continue;
+
+                botService.getPlayerAction().setPlayerId(botId);
+                if (!botService.computeNextPlayerAction(botService.getPlayerAction())) continue;
+                ++computed;
+                if (out != null) {
+                    var action = botService.getPlayerAction();
+                    out.write(log.tick(i) + " " + action.getAction() + " " + action.getHeading() + "\n");
+                }
+            }
+            var metrics = botService.getMetrics();
+            long n = Math.max(1, metrics.getTicks());
+            System.out.printf("[INFO] %s: objects decoded per tick: %.1f fully, %.1f lazily, %.1f for sharing, %.1f on demand%n",
+                    path.getFileName(), (double) metrics.getDecodedFully() / n, (double) metrics.getDecodedLazily() / n,
+                    (double) metrics.getDecodedShared() / n, (double) metrics.getDecodedOnDemand() / n);
+            return computed;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package Rakus.Replay;
+
+import Models.Position;
+import Models.StateFrame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class StateLog implements Closeable {
+    // Read-only, memory-mapped view of a log written by StateRecorder. Opening scans the log once to collect the UUID dictionary and
+    // the offset of every tick; ticks are then decoded on demand, in any order, straight from the mapping
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final List<String> ids;
+    private int[] ticks;
+    private int[] offsets;
+    private int count;
+    private String botId;
+
+    public StateLog(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() > Integer.MAX_VALUE) throw new IOException("State log too large to map: " + path);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        this.ids = new ArrayList<>();
+        this.ticks = new int[256];
+        this.offsets = new int[256];
+        this.count = 0;
+        this.botId = null;
+        scan(path);
+    }
+
+    // Number of recorded ticks
+    public int size() {
+        return count;
+    }
+
+    // Tick number of the i-th recorded state
+    public int tick(int index) {
+        return ticks[index];
+    }
+
+    // UUID of the bot the log was recorded for, or null if it was not recorded
+    public String getBotId() {
+        return botId;
+    }
+
+    // Returns the index of the first recorded state at or after a tick (size() if there is none); ticks are recorded in ascending order
+    public int seek(int tick) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ticks[mid] < tick) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Decodes the i-th recorded state into a frame, replacing its previous contents
+    public void read(int index, StateFrame frame) {
+        var in = buffer.duplicate();
+        in.position(offsets[index]);
+
+        frame.world.setCurrentTick(readZigzag(in));
+        frame.world.setCenterPoint(new Position(readZigzag(in), readZigzag(in)));
+        frame.world.setRadius(readVarint(in));
+        readSection(in, frame.gameObjects);
+        readSection(in, frame.playerObjects);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readSection(ByteBuffer in, StateFrame.Section section) {
+        section.clear();
+        int n = readVarint(in);
+        for (int i = 0; i < n; i++) {
+            int object = section.add(ids.get(readVarint(in)));
+            int length = readVarint(in);
+            for (int k = 0; k < length; k++)
+                section.addAttrib(object, readZigzag(in));
+        }
+    }
+
+    private void scan(Path path) throws IOException {
+        var in = buffer.duplicate();
+        if (in.remaining() < 4 || in.getInt() != StateRecorder.MAGIC) throw new IOException("Not a state log: " + path);
+
+        try {
+            while (in.hasRemaining()) {
+                byte tag = in.get();
+                if (tag == StateRecorder.TAG_ID) {
+                    if (in.remaining() < 16) break;
+                    ids.add(new UUID(in.getLong(), in.getLong()).toString());
+                } else if (tag == StateRecorder.TAG_BOT) {
+                    botId = ids.get(readVarint(in));
+                } else if (tag == StateRecorder.TAG_TICK) {
+                    int length = readVarint(in);
+                    if (in.remaining() < length) break;
+                    if (count == ticks.length) {
+                        ticks = Arrays.copyOf(ticks, count * 2);
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count] = in.position();
+                    ticks[count++] = readZigzag(in);
+                    in.position(offsets[count - 1] + length);
+                } else {
+                    throw new IOException("Corrupt state log " + path + " at offset " + (in.position() - 1));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            // A log cut off mid-record (e.g. the bot was killed while recording) ends at the last complete tick
+        }
+    }
+
+    private static int readZigzag(ByteBuffer in) {
+        int value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package Rakus.Replay;
+
+import Models.GameStateDto;
+import Models.StateFrame;
+import Models.World;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class StateRecorder implements Closeable {
+    // Writes received game states to a compact binary log that StateLog can memory-map and replay: a 4 byte magic, then tagged records
+    static final int MAGIC = 0x524B4C31;
+    // ID: a 16 byte UUID, defined before the first TICK that uses it. TICK: varint body length, then zigzag tick, center x and y, varint
+    // radius, then game objects and player objects as (varint UUID index, varint attribute count, zigzag attributes) sections. BOT: varint
+    // UUID index of the bot the log was recorded for
+    static final byte TAG_ID = 1, TAG_TICK = 2, TAG_BOT = 3;
+
+    private final OutputStream out;
+    private final Map<String, Integer> ids;
+    private byte[] body;
+    private int length;
+
+    public StateRecorder(Path path) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16);
+        this.ids = new HashMap<>();
+        this.body = new byte[1 << 16];
+        this.length = 0;
+        for (int shift = 24; shift >= 0; shift -= 8)
+            out.write(MAGIC >>> shift);
+    }
+
+    // Records which bot the following ticks belong to
+    public void setBot(UUID id) throws IOException {
+        int index = define(id.toString());
+        out.write(TAG_BOT);
+        writeVarint(out, index);
+    }
+
+    public void record(StateFrame frame) throws IOException {
+        define(frame.gameObjects);
+        define(frame.playerObjects);
+
+        length = 0;
+        putWorld(frame.world);
+        putSection(frame.gameObjects);
+        putSection(frame.playerObjects);
+        writeTick();
+    }
+
+    public void record(GameStateDto gameStateDto) throws IOException {
+        define(gameStateDto.getGameObjects());
+        define(gameStateDto.getPlayerObjects());
+
+        length = 0;
+        putWorld(gameStateDto.getWorld());
+        putMap(gameStateDto.getGameObjects());
+        putMap(gameStateDto.getPlayerObjects());
+        writeTick();
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void define(StateFrame.Section section) throws IOException {
+        for (int i = 0; i < section.count(); i++)
+            define(section.id(i));
+    }
+
+    private void define(Map<String, List<Integer>> stateLists) throws IOException {
+        if (stateLists == null) return;
+        for (var id : stateLists.keySet())
+            define(id);
+    }
+
+    // Returns the dictionary index of a UUID, writing an ID record the first time it is seen
+    private int define(String id) throws IOException {
+        var index = ids.get(id);
+        if (index != null) return index;
+
+        var uuid = UUID.fromString(id);
+        out.write(TAG_ID);
+        writeLong(uuid.getMostSignificantBits());
+        writeLong(uuid.getLeastSignificantBits());
+        ids.put(id, ids.size());
+        return ids.size() - 1;
+    }
+
+    private void writeTick() throws IOException {
+        out.write(TAG_TICK);
+        writeVarint(out, length);
+        out.write(body, 0, length);
+    }
+
+    private void putWorld(World world) {
+        var center = world != null ? world.getCenterPoint() : null;
+        putZigzag(world != null && world.getCurrentTick() != null ? world.getCurrentTick() : -1);
+        putZigzag(center != null ? center.x : 0);
+        putZigzag(center != null ? center.y : 0);
+        putVarint(world != null && world.getRadius() != null ? world.getRadius() : 0);
+    }
+
+    private void putSection(StateFrame.Section section) {
+        var attribs = section.attribs();
+        putVarint(section.count());
+        for (int i = 0; i < section.count(); i++) {
+            putVarint(ids.get(section.id(i)));
+            putVarint(section.length(i));
+            for (int k = 0; k < section.length(i); k++)
+                putZigzag(attribs[section.offset(i) + k]);
+        }
+    }
+
+    private void putMap(Map<String, List<Integer>> stateLists) {
+        if (stateLists == null) {
+            putVarint(0);
+            return;
+        }
+        putVarint(stateLists.size());
+        for (var entry : stateLists.entrySet()) {
+            putVarint(ids.get(entry.getKey()));
+            putVarint(entry.getValue().size());
+            for (var value : entry.getValue())
+                putZigzag(value);
+        }
+    }
+
+    private void putZigzag(int value) {
+        putVarint((value << 1) ^ (value >> 31));
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on every byte but the last
+    private void putVarint(int value) {
+        if (length + 5 > body.length) body = Arrays.copyOf(body, body.length * 2);
+        while ((value & ~0x7f) != 0) {
+            body[length++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        body[length++] = (byte) value;
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8)
+            out.write((int) (value >>> shift));
+    }
+}
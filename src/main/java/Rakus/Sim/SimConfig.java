@@ -0,0 +1,59 @@
+package Rakus.Sim;
+
+public class SimConfig {
+    // Game rules of a simulated match. Defaults approximate the runner's standard settings: sizes are radii, speeds are distance per
+    // tick, durations and recharge times are in ticks
+    public int maxTicks = 1500;
+
+    // World
+    public int worldRadius = 1000;
+    public int minWorldRadius = 100;
+    public int shrinkPerTick = 1;
+
+    // Players; speed is speedScale / size (at least 1), doubled by afterburners and halved inside asteroid fields
+    public int startSize = 10;
+    public int minSize = 5;
+    public int speedScale = 200;
+    public int afterburnerCost = 1;
+    public int outsideWorldCost = 1;
+
+    // Food; superfood doubles food gained for a while
+    public int foodCount = 800;
+    public int foodSize = 3;
+    public double superfoodRatio = 0.1;
+    public int superfoodDuration = 5;
+
+    // Hazards; gas clouds shrink players inside them every tick
+    public int gasClouds = 15;
+    public int gasCloudSize = 40;
+    public int gasCloudCost = 1;
+    public int asteroidFields = 15;
+    public int asteroidFieldSize = 50;
+
+    // Torpedo salvos
+    public int torpedoSize = 10;
+    public int torpedoSpeed = 60;
+    public int torpedoCost = 5;
+    public int torpedoRecharge = 10;
+    public int maxTorpedoCharge = 5;
+
+    // Teleporters
+    public int teleporterSize = 10;
+    public int teleporterSpeed = 20;
+    public int teleporterCost = 20;
+    public int teleporterRecharge = 100;
+    public int maxTeleporterCharge = 10;
+
+    // Shields
+    public int shieldCost = 20;
+    public int shieldDuration = 20;
+    public int shieldRecharge = 20;
+
+    // Supernova; the pickup appears once, the bomb damages every player within its radius and leaves a gas cloud behind
+    public int supernovaPickupTick = 300;
+    public int supernovaPickupSize = 10;
+    public int supernovaSize = 10;
+    public int supernovaSpeed = 20;
+    public int supernovaRadius = 150;
+    public int supernovaDamage = 40;
+}
@@ -0,0 +1,58 @@
+package Rakus.Sim;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.Position;
+import Services.BotService;
+
+import java.util.UUID;
+
+class SimObject {
+    // Mutable simulation-side object; positions are kept in double precision and rounded when handed to bots
+    final UUID id;
+    final ObjectTypes type;
+    double x, y;
+    int size, speed, heading;
+    boolean alive = true;
+    // Player that fired a projectile
+    SimObject owner;
+
+    // Player attributes
+    BotService bot;
+    boolean moving, afterburner, hasSupernova;
+    int torpedoCharge, teleporterCharge, shieldCharge;
+    int shieldTicks, superfoodTicks;
+    int effects;
+    int consumedAt = -1;
+
+    SimObject(UUID id, ObjectTypes type, double x, double y, int size) {
+        this.id = id;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.size = size;
+    }
+
+    double distanceTo(SimObject other) {
+        return Math.hypot(x - other.x, y - other.y);
+    }
+
+    double distanceFromCenter() {
+        return Math.hypot(x, y);
+    }
+
+    // Whether two objects touch (sizes are radii)
+    boolean overlaps(SimObject other) {
+        return distanceTo(other) < size + other.size;
+    }
+
+    void move(int distance) {
+        x += distance * Math.cos(Math.toRadians(heading));
+        y += distance * Math.sin(Math.toRadians(heading));
+    }
+
+    GameObject toGameObject() {
+        return new GameObject(id, size, speed, heading, new Position((int) Math.round(x), (int) Math.round(y)), type,
+                effects, torpedoCharge, hasSupernova, teleporterCharge, shieldCharge);
+    }
+}
@@ -0,0 +1,43 @@
+package Rakus.Sim;
+
+import Services.BotService;
+
+import java.util.UUID;
+
+public class SimResult {
+    // Final standing of one player of a simulated match
+    private final UUID id;
+    private final BotService botService;
+    private final boolean alive;
+    private final int size;
+    private final int consumedAt;
+
+    public SimResult(UUID id, BotService botService, boolean alive, int size, int consumedAt) {
+        this.id = id;
+        this.botService = botService;
+        this.alive = alive;
+        this.size = size;
+        this.consumedAt = consumedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public BotService getBotService() {
+        return botService;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Tick the player was consumed at, or -1 if it survived
+    public int getConsumedAt() {
+        return consumedAt;
+    }
+}
@@ -0,0 +1,89 @@
+package Rakus.Sim;
+
+import Rakus.Log.Log;
+import Rakus.Plan.Planner;
+import Services.BotService;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SimRunner {
+    // Runs seeded matches between Rakus bots on the local simulator; match i uses seed + i
+    //   java -cp Rakus.jar:libs/* Rakus.Sim.SimRunner [--matches M] [--bots N] [--seed S] [--ticks T] [--threads K] [--plan-ms B]
+    public static void main(String[] args) throws Exception {
+        int matches = 8, bots = 4, threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+        double planMillis = 0;
+        var config = new SimConfig();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches":
+                    matches = Integer.parseInt(args[++i]);
+                    break;
+                case "--bots":
+                    bots = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--ticks":
+                    config.maxTicks = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--plan-ms":
+                    planMillis = Double.parseDouble(args[++i]);
+                    break;
+                default:
+                    System.out.println("Usage: SimRunner [--matches M] [--bots N] [--seed S] [--ticks T] [--threads K] [--plan-ms B]");
+                    return;
+            }
+        }
+        if (System.getenv("RAKUS_LOG") == null) Log.configure("*=OFF");
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, matches)));
+        var results = new ArrayList<Future<int[]>>();
+        long start = System.nanoTime();
+        for (int m = 0; m < matches; m++) {
+            final long matchSeed = seed + m;
+            final int players = bots;
+            final long planNanos = (long) (planMillis * 1_000_000L);
+            results.add(pool.submit(() -> play(config, matchSeed, players, planNanos)));
+        }
+
+        long ticks = 0;
+        var wins = new int[bots];
+        for (int m = 0; m < matches; m++) {
+            var res = results.get(m).get();
+            ticks += res[0];
+            ++wins[res[1]];
+            System.out.printf("[INFO] Match %d (seed %d): %d ticks, won by bot %d at size %d%n", m, seed + m, res[0], res[1], res[2]);
+        }
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        var str = new StringBuilder();
+        for (int i = 0; i < bots; i++) str.append(' ').append(wins[i]);
+        System.out.printf("[INFO] Wins per bot:%s%n", str);
+        System.out.printf("[INFO] %d matches, %d ticks in %.2f s (%.0f ticks/s)%n", matches, ticks, seconds, ticks / seconds);
+    }
+
+    // Plays one match; returns its tick count, the index of the winning bot and the winner's size
+    private static int[] play(SimConfig config, long seed, int bots, long planNanos) {
+        var simulator = new Simulator(config, seed);
+        var services = new ArrayList<BotService>();
+        for (int i = 0; i < bots; i++) {
+            var botService = new BotService();
+            if (i == 0 && planNanos > 0) botService.setPlanner(new Planner(planNanos, null, config));
+            simulator.addBot(botService);
+            services.add(botService);
+        }
+        int ticks = simulator.run();
+
+        var winner = simulator.getResults().get(0);
+        return new int[]{ticks, services.indexOf(winner.getBotService()), winner.getSize()};
+    }
+}
@@ -0,0 +1,377 @@
+package Rakus.Sim;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Models.PlayerAction;
+import Models.Position;
+import Models.World;
+import Rakus.Struct.Effects;
+import Services.BotService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+public class Simulator {
+    // In-process, seeded, single-threaded simulation of the game rules the bot reacts to; wormholes are not simulated
+    private final SimConfig config;
+    private final Random random;
+    private final List<SimObject> players;
+    private final List<SimObject> objects;
+    private int radius;
+    private int tick;
+    private boolean supernovaSpawned;
+
+    public Simulator(SimConfig config, long seed) {
+        this.config = config;
+        this.random = new Random(seed);
+        this.players = new ArrayList<>();
+        this.objects = new ArrayList<>();
+        this.radius = config.worldRadius;
+        this.tick = 0;
+        this.supernovaSpawned = false;
+
+        for (int i = 0; i < config.gasClouds; i++)
+            spawn(ObjectTypes.GAS_CLOUD, config.gasCloudSize, 0.8);
+        for (int i = 0; i < config.asteroidFields; i++)
+            spawn(ObjectTypes.ASTEROID_FIELD, config.asteroidFieldSize, 0.8);
+        spawnFood();
+    }
+
+    // Adds a player controlled by a bot service, placed evenly on a ring around the center; returns its UUID
+    public UUID addBot(BotService botService) {
+        var player = new SimObject(nextId(), ObjectTypes.PLAYER, 0, 0, config.startSize);
+        player.bot = botService;
+        players.add(player);
+
+        // Re-space every player on the ring so that the start stays symmetric
+        for (int i = 0; i < players.size(); i++) {
+            double angle = 2 * Math.PI * i / players.size();
+            players.get(i).x = 0.5 * radius * Math.cos(angle);
+            players.get(i).y = 0.5 * radius * Math.sin(angle);
+        }
+        player.speed = speedOf(player);
+        botService.setBot(player.toGameObject());
+        return player.id;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    // Returns whether the match is over: at most one player left (of several), or the tick limit was reached
+    public boolean isFinished() {
+        return tick >= config.maxTicks || alivePlayers() == 0 || (players.size() > 1 && alivePlayers() <= 1);
+    }
+
+    // Returns the final standing of every player: alive players by size, then consumed players, latest consumed first
+    public List<SimResult> getResults() {
+        var res = new ArrayList<SimResult>();
+        for (var player : players)
+            res.add(new SimResult(player.id, player.bot, player.alive, player.alive ? player.size : 0, player.consumedAt));
+        res.sort((a, b) -> a.isAlive() != b.isAlive() ? (a.isAlive() ? -1 : 1)
+                : a.isAlive() ? Integer.compare(b.getSize(), a.getSize()) : Integer.compare(b.getConsumedAt(), a.getConsumedAt()));
+        return res;
+    }
+
+    // Runs ticks until the match is finished; returns the number of ticks simulated
+    public int run() {
+        int start = tick;
+        while (!isFinished()) step();
+        return tick - start;
+    }
+
+    // Sends the current state to every bot, applies their actions and advances the world by one tick
+    public void step() {
+        var actions = decide();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).alive && actions[i] != null) act(players.get(i), actions[i]);
+        }
+        move();
+        collide();
+        shrink();
+        recharge();
+        objects.removeIf(obj -> !obj.alive);
+        spawnFood();
+        if (!supernovaSpawned && tick >= config.supernovaPickupTick) {
+            spawn(ObjectTypes.SUPERNOVA_PICKUP, config.supernovaPickupSize, 0.5);
+            supernovaSpawned = true;
+        }
+        ++tick;
+    }
+
+    // Builds this tick's game state, indexed once and shared by every bot, and lets every live bot compute its action
+    private PlayerAction[] decide() {
+        var world = new World();
+        world.setCenterPoint(new Position(0, 0));
+        world.setRadius(radius);
+        world.setCurrentTick(tick);
+
+        var gameObjects = new ArrayList<GameObject>(objects.size());
+        for (var obj : objects) gameObjects.add(obj.toGameObject());
+        var playerObjects = new ArrayList<GameObject>(players.size());
+        for (var player : players) {
+            if (player.alive) playerObjects.add(player.toGameObject());
+        }
+
+        var gameState = new GameState(world, gameObjects, playerObjects);
+        gameState.buildIndex();
+
+        var actions = new PlayerAction[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            var player = players.get(i);
+            if (!player.alive) continue;
+
+            var botService = player.bot;
+            botService.setGameState(gameState);
+            if (botService.getBot() == null) continue;
+            botService.getPlayerAction().setPlayerId(player.id);
+            if (botService.computeNextPlayerAction(botService.getPlayerAction()))
+                actions[i] = botService.getPlayerAction();
+        }
+        return actions;
+    }
+
+    private void act(SimObject player, PlayerAction action) {
+        if (action.getAction() == null) return;
+
+        switch (action.getAction()) {
+            case FORWARD:
+                player.heading = Math.floorMod(action.getHeading(), 360);
+                player.moving = true;
+                break;
+            case STOP:
+                player.moving = false;
+                break;
+            case STARTAFTERBURNER:
+                player.afterburner = true;
+                break;
+            case STOPAFTERBURNER:
+                player.afterburner = false;
+                break;
+            case FIRETORPEDOES:
+                if (player.torpedoCharge > 0 && player.size - config.torpedoCost >= config.minSize) {
+                    --player.torpedoCharge;
+                    player.size -= config.torpedoCost;
+                    fire(player, ObjectTypes.TORPEDO_SALVO, config.torpedoSize, config.torpedoSpeed, action.getHeading());
+                }
+                break;
+            case FIRETELEPORT:
+                if (player.teleporterCharge > 0 && player.size - config.teleporterCost >= config.minSize) {
+                    --player.teleporterCharge;
+                    player.size -= config.teleporterCost;
+                    fire(player, ObjectTypes.TELEPORTER, config.teleporterSize, config.teleporterSpeed, action.getHeading());
+                }
+                break;
+            case TELEPORT:
+                var teleporter = owned(player, ObjectTypes.TELEPORTER);
+                if (teleporter != null) {
+                    player.x = teleporter.x;
+                    player.y = teleporter.y;
+                    teleporter.alive = false;
+                }
+                break;
+            case ACTIVATESHIELD:
+                if (player.shieldCharge > 0 && player.size - config.shieldCost >= config.minSize) {
+                    --player.shieldCharge;
+                    player.size -= config.shieldCost;
+                    player.shieldTicks = config.shieldDuration;
+                }
+                break;
+            case FIRESUPERNOVA:
+                if (player.hasSupernova) {
+                    player.hasSupernova = false;
+                    fire(player, ObjectTypes.SUPERNOVA_BOMB, config.supernovaSize, config.supernovaSpeed, action.getHeading());
+                }
+                break;
+            case DETONATESUPERNOVA:
+                var bomb = owned(player, ObjectTypes.SUPERNOVA_BOMB);
+                if (bomb != null) detonate(bomb);
+                break;
+        }
+    }
+
+    private void move() {
+        for (var player : players) {
+            if (!player.alive) continue;
+            player.speed = speedOf(player);
+            if (player.moving) player.move(player.speed);
+        }
+        for (var obj : objects) {
+            if (obj.speed == 0) continue;
+            obj.move(obj.speed);
+            // Projectiles leaving the world are gone; a supernova bomb fizzles out without exploding
+            if (obj.distanceFromCenter() > radius) obj.alive = false;
+        }
+    }
+
+    private void collide() {
+        for (var player : players) {
+            if (!player.alive) continue;
+            int effects = 0;
+
+            for (var obj : objects) {
+                if (!obj.alive || !player.overlaps(obj)) continue;
+                switch (obj.type) {
+                    case FOOD:
+                    case SUPERFOOD:
+                        player.size += player.superfoodTicks > 0 ? 2 * obj.size : obj.size;
+                        if (obj.type == ObjectTypes.SUPERFOOD) player.superfoodTicks = config.superfoodDuration;
+                        obj.alive = false;
+                        break;
+                    case GAS_CLOUD:
+                        player.size -= config.gasCloudCost;
+                        effects |= Effects.flagOf(Effects.GASCLOUD);
+                        break;
+                    case ASTEROID_FIELD:
+                        effects |= Effects.flagOf(Effects.ASTEROIDFIELD);
+                        break;
+                    case TORPEDO_SALVO:
+                        if (obj.owner == player) break;
+                        obj.alive = false;
+                        if (player.shieldTicks > 0) break;
+                        int damage = Math.min(obj.size, player.size);
+                        player.size -= damage;
+                        if (obj.owner != null && obj.owner.alive) obj.owner.size += damage;
+                        break;
+                    case SUPERNOVA_PICKUP:
+                        player.hasSupernova = true;
+                        obj.alive = false;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            if (player.afterburner) {
+                player.size -= config.afterburnerCost;
+                effects |= Effects.flagOf(Effects.AFTERBURNER);
+            }
+            if (player.superfoodTicks > 0) effects |= Effects.flagOf(Effects.SUPERFOOD);
+            if (player.shieldTicks > 0) effects |= Effects.flagOf(Effects.SHIELD);
+            player.effects = effects;
+        }
+
+        // The larger of two touching players consumes up to half its own size of the smaller one each tick
+        for (int i = 0; i < players.size(); i++) {
+            for (int j = i + 1; j < players.size(); j++) {
+                var a = players.get(i);
+                var b = players.get(j);
+                if (!a.alive || !b.alive || a.size == b.size || !a.overlaps(b)) continue;
+                var larger = a.size > b.size ? a : b;
+                var smaller = larger == a ? b : a;
+                int consumed = Math.min(smaller.size, Math.max(1, larger.size / 2));
+                smaller.size -= consumed;
+                larger.size += consumed;
+            }
+        }
+
+        for (var player : players) {
+            if (player.alive && player.size < config.minSize) consume(player);
+        }
+    }
+
+    private void shrink() {
+        radius = Math.max(config.minWorldRadius, radius - config.shrinkPerTick);
+        for (var obj : objects) {
+            if (obj.distanceFromCenter() - obj.size > radius) obj.alive = false;
+        }
+        for (var player : players) {
+            if (!player.alive || player.distanceFromCenter() + player.size <= radius) continue;
+            player.size -= config.outsideWorldCost;
+            if (player.size < config.minSize) consume(player);
+        }
+    }
+
+    private void recharge() {
+        for (var player : players) {
+            if (!player.alive) continue;
+            if (player.shieldTicks > 0) --player.shieldTicks;
+            if (player.superfoodTicks > 0) --player.superfoodTicks;
+            if (tick > 0 && tick % config.torpedoRecharge == 0) player.torpedoCharge = Math.min(config.maxTorpedoCharge, player.torpedoCharge + 1);
+            if (tick > 0 && tick % config.teleporterRecharge == 0) player.teleporterCharge = Math.min(config.maxTeleporterCharge, player.teleporterCharge + 1);
+            if (tick > 0 && tick % config.shieldRecharge == 0) player.shieldCharge = 1;
+        }
+    }
+
+    private void detonate(SimObject bomb) {
+        bomb.alive = false;
+        for (var player : players) {
+            if (!player.alive || bomb.distanceTo(player) > config.supernovaRadius + player.size) continue;
+            player.size -= config.supernovaDamage;
+            if (player.size < config.minSize) consume(player);
+        }
+        objects.add(new SimObject(nextId(), ObjectTypes.GAS_CLOUD, bomb.x, bomb.y, config.supernovaRadius));
+    }
+
+    private void consume(SimObject player) {
+        player.alive = false;
+        player.size = 0;
+        player.consumedAt = tick;
+        for (var obj : objects) {
+            if (obj.owner == player && (obj.type == ObjectTypes.TELEPORTER || obj.type == ObjectTypes.SUPERNOVA_BOMB)) obj.alive = false;
+        }
+    }
+
+    // Returns a live projectile of a type fired by a player (the latest one), or null if there is none
+    private SimObject owned(SimObject player, ObjectTypes type) {
+        SimObject res = null;
+        for (var obj : objects) {
+            if (obj.alive && obj.owner == player && obj.type == type) res = obj;
+        }
+        return res;
+    }
+
+    private void fire(SimObject player, ObjectTypes type, int size, int speed, int heading) {
+        var projectile = new SimObject(nextId(), type, player.x, player.y, size);
+        projectile.owner = player;
+        projectile.speed = speed;
+        projectile.heading = Math.floorMod(heading, 360);
+        // Spawn just outside the shooter so that it does not hit its own hull
+        projectile.move(player.size + size + 1);
+        objects.add(projectile);
+    }
+
+    private void spawnFood() {
+        int food = 0;
+        for (var obj : objects) {
+            if (obj.alive && (obj.type == ObjectTypes.FOOD || obj.type == ObjectTypes.SUPERFOOD)) ++food;
+        }
+        // Food only spawns inside the current world; fewer fits as it shrinks
+        int target = (int) ((long) config.foodCount * radius * radius / ((long) config.worldRadius * config.worldRadius));
+        for (; food < target; food++)
+            spawn(random.nextDouble() < config.superfoodRatio ? ObjectTypes.SUPERFOOD : ObjectTypes.FOOD, config.foodSize, 0.95);
+    }
+
+    // Spawns a static object at a uniformly random point within a fraction of the world radius
+    private void spawn(ObjectTypes type, int size, double extent) {
+        double r = extent * radius * Math.sqrt(random.nextDouble());
+        double angle = 2 * Math.PI * random.nextDouble();
+        objects.add(new SimObject(nextId(), type, r * Math.cos(angle), r * Math.sin(angle), size));
+    }
+
+    private UUID nextId() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private int speedOf(SimObject player) {
+        int speed = Math.max(1, config.speedScale / Math.max(1, player.size));
+        if (player.afterburner) speed *= 2;
+        if ((player.effects & Effects.flagOf(Effects.ASTEROIDFIELD)) != 0) speed = Math.max(1, speed / 2);
+        return speed;
+    }
+
+    private int alivePlayers() {
+        int n = 0;
+        for (var player : players) {
+            if (player.alive) ++n;
+        }
+        return n;
+    }
+}
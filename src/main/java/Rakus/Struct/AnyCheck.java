@@ -0,0 +1,142 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Enums.PlayerActions;
+import Rakus.Func.CheckFunc;
+import Rakus.Util.Objects;
+import Rakus.Vars;
+
+public enum AnyCheck {
+    // The high-priority and emergency tasks of BotState.ANY, most critical first
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Intercept incoming torpedoes
+    INTERCEPT_TORPEDOES(true, true, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var trajectories = ctx.getTrajectories();
+        var torpedo = Objects.findClosestWithin(ctx.getGameState(), bot,
+                (c, unused, obj) ->
+                        obj.getGameObjectType() == ObjectTypes.TORPEDO_SALVO
+                                && c.getTrajectories().approachDiff(obj) >= Vars.ANY_INTERCEPT_HEADING_DIFF,
+                ctx, 0, bot.getSize() + Vars.ANY_INTERCEPT_SEARCH_RADIUS);
+        if (torpedo == null || !ctx.getBotService().consumeTorpedoCharge()) return null;
+
+        action.action = PlayerActions.FIRETORPEDOES;
+        action.heading = trajectories.torpedoLead(torpedo);
+        return "Attempting to intercepting incoming torpedoes";
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Block incoming torpedoes that are about to hit with shield
+    ACTIVATE_SHIELD(true, true, (ctx, action) -> {
+        var bot = ctx.getBot();
+        if (bot.getShieldCharge() > 0 && Objects.anyWithin(ctx.getGameState(), bot,
+                (c, unused, obj) ->
+                        obj.getGameObjectType() == ObjectTypes.TORPEDO_SALVO
+                                && c.getTrajectories().approachDiff(obj) >= Vars.ANY_SHIELD_HEADING_DIFF
+                                && c.getTrajectories().timeToImpact(obj) <= Vars.ANY_SHIELD_IMPACT_TICKS,
+                ctx, 0, bot.getSize() + Vars.ANY_SHIELD_SEARCH_RADIUS) && bot.getSize() > Vars.SHIELD_SAFE_SIZE) {
+            action.action = PlayerActions.ACTIVATESHIELD;
+            return "Activating shield";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Trigger supernova pickup teleporters
+    TELEPORT_TO_PICKUP(false, true, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var pickup = ctx.closestOfType(ObjectTypes.SUPERNOVA_PICKUP);
+        if (Objects.isWithin(ctx.getBotService().getTeleporter(), pickup, bot.getSize() + Vars.PICK_SUPERNOVA_TELEPORT_RADIUS)
+                && !Objects.anyPlayerWithin(ctx.getGameState(), bot, TickContext.ENEMY, ctx, 0, bot.getSize() + Vars.PICK_SUPERNOVA_TELEPORT_SAFETY_RADIUS)) {
+            // Teleport to the pickup if the surrounding is relatively safe
+            action.action = PlayerActions.TELEPORT;
+            return "Attempting to teleport to supernova pickup!";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Trigger chase teleporters
+    TELEPORT_TO_TARGET(false, true, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var teleporter = ctx.getBotService().getTeleporter();
+        if (teleporter != null /*&& Objects.findPlayersWithin(gameState, teleporter, player -> ctx.isEnemy(player) && bot.getSize() < player.getSize(), Vars.CHASE_HIGH_TELEPORT_CLEARANCE * bot.getSize()).isEmpty()*/
+                && Objects.anyPlayerWithin(ctx.getGameState(), teleporter, (c, unused, player) -> c.isEnemy(player) && c.getBot().getSize() > player.getSize(), ctx, 0, Vars.CHASE_TELEPORT_CLEARANCE * bot.getSize())) {
+            // If teleporter is close to a target, and it is safe to do so (no larger players in range), trigger
+            action.action = PlayerActions.TELEPORT;
+            return "Attempting to teleport to opponent!";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Detonate a supernova bomb
+    DETONATE_SUPERNOVA(false, true, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var world = ctx.getWorld();
+        var supernova = ctx.getBotService().getSupernova();
+        if (ctx.largestEnemy() != null && supernova != null
+                && !Objects.isWithin(supernova, bot, 0.25 * world.getRadius())
+                && Objects.anyPlayerWithin(ctx.getGameState(), supernova, TickContext.ENEMY, ctx, 0, 0.25 * world.getRadius())) {
+            action.action = PlayerActions.DETONATESUPERNOVA;
+            return "Detonating a supernova!";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Fire a supernova bomb
+    FIRE_SUPERNOVA(false, true, (ctx, action) -> {
+        var largestOpponent = ctx.largestEnemy();
+        if (largestOpponent != null && ctx.getBotService().consumeSupernova()) {
+            action.action = PlayerActions.FIRESUPERNOVA;
+            action.heading = Objects.headingBetween(ctx.getBot(), largestOpponent);
+            return "Firing a supernova!";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Move away from gas clouds
+    AVOID_GAS_CLOUD(false, false, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var nearest = Objects.findClosestWithin(ctx.getGameState(), bot, obj -> obj.getGameObjectType() == ObjectTypes.GAS_CLOUD, bot.getSize() + Vars.ANY_GASCLOUD_SEARCH_RADIUS);
+        if (action.action == PlayerActions.FORWARD && nearest != null) {
+            int avoidance = Objects.headingMedian(bot.currentHeading, Objects.headingBetween(nearest, bot));
+            // Smoothing step to reduce jittery turning movement
+            action.heading = Objects.headingMedian(action.heading, avoidance);
+            return "Attempting to avoid a gas cloud";
+        }
+        return null;
+    }),
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Move away from world edge
+    AVOID_EDGE(false, false, (ctx, action) -> {
+        var bot = ctx.getBot();
+        var world = ctx.getWorld();
+        if (action.action == PlayerActions.FORWARD && Objects.distanceFromOrigin(world, bot) + bot.getSize() + Vars.ANY_EDGE_AVOID_RADIUS > world.getRadius()) {
+            int avoidance = Objects.headingMedian(bot.currentHeading, Objects.headingReverse(Objects.headingFromOrigin(bot)));
+            // Smoothing step to reduce jittery turning movement
+            action.heading = Objects.headingMedian(action.heading, avoidance);
+            return "Attempting to move away from world edge";
+        }
+        return null;
+    });
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Critical checks are never shed by the tick scheduler
+    public final boolean critical;
+    // An exclusive check that fires takes over the action and ends ANY; the others only adjust a FORWARD heading
+    public final boolean exclusive;
+    public final CheckFunc func;
+
+    // The checks in the order they run; values() would clone the array on every tick
+    static final AnyCheck[] ORDER = values();
+
+    private AnyCheck(boolean critical, boolean exclusive, CheckFunc checkFunc) {
+        this.critical = critical;
+        this.exclusive = exclusive;
+        this.func = checkFunc;
+    }
+}
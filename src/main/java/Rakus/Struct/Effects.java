@@ -6,15 +6,47 @@ public enum Effects {
     AFTERBURNER, ASTEROIDFIELD, GASCLOUD, SUPERFOOD, SHIELD;
 
     public static final EnumSet<Effects> ALL = EnumSet.allOf(Effects.class);
+    private static final Effects[] VALUES = values();
+    // Space-separated names of every combination of effect flags, built once so that describing effects never allocates
+    private static final String[] NAMES = new String[1 << VALUES.length];
 
-    public static EnumSet<Effects> fromFlags(int flags) {
-        var set = EnumSet.allOf(Effects.class);
-        if ((flags & 0b00001) == 0) set.remove(AFTERBURNER);
-        if ((flags & 0b00010) == 0) set.remove(ASTEROIDFIELD);
-        if ((flags & 0b00100) == 0) set.remove(GASCLOUD);
-        if ((flags & 0b01000) == 0) set.remove(SUPERFOOD);
-        if ((flags & 0b10000) == 0) set.remove(SHIELD);
+    static {
+        String[] labels = {"afterburn", "asteroid", "gascloud", "superfood", "shield"};
+        for (int flags = 0; flags < NAMES.length; flags++) {
+            var str = new StringBuilder();
+            for (var effect : VALUES) {
+                if ((flags & flagOf(effect)) != 0) str.append(str.length() > 0 ? " " : "").append(labels[effect.ordinal()]);
+            }
+            NAMES[flags] = str.length() > 0 ? str.toString() : "none";
+        }
+    }
 
+    // Builds the set of effects in a set of state list flags; objects keep the flags themselves (see GameObject.getActiveEffects), so
+    // this is only for code that wants an EnumSet
+    public static EnumSet<Effects> fromFlags(int flags) {
+        var set = EnumSet.noneOf(Effects.class);
+        for (var effect : VALUES) {
+            if ((flags & flagOf(effect)) != 0) set.add(effect);
+        }
         return set;
     }
+
+    // Returns the state list bit of an effect
+    public static int flagOf(Effects effect) {
+        return 1 << effect.ordinal();
+    }
+
+    // Packs a set of effects back into state list flags
+    public static int toFlags(EnumSet<Effects> set) {
+        int flags = 0;
+        if (set == null) return flags;
+        for (var effect : set)
+            flags |= flagOf(effect);
+        return flags;
+    }
+
+    // Returns the names of the effects in a set of state list flags, e.g. "gascloud shield"
+    public static String describe(int flags) {
+        return NAMES[flags & (NAMES.length - 1)];
+    }
 }
@@ -0,0 +1,210 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class HazardField {
+    // Raster of the priority penalty over the world disc, from a single bot's perspective; penalties equal Objects.priorityPenalty
+    private final Layer gasClouds = new Layer(ObjectTypes.GAS_CLOUD, Vars.GAS_CLOUD_AVOIDANCE, Vars.GAS_CLOUD_PENALTY);
+    private final Layer asteroidFields = new Layer(ObjectTypes.ASTEROID_FIELD, Vars.ASTEROID_FIELD_AVOIDANCE, Vars.ASTEROID_FIELD_PENALTY);
+
+    private int originX, originY, cellSize, cells;
+    private int extent;
+    private int generation;
+
+    // World edge, as of the last update
+    private int centerX, centerY, worldRadius;
+    private double edgeReach;
+
+    // Brings the field up to date with a game state from the perspective of a bot
+    public void update(GameState gameState, GameObject bot) {
+        if (bot == null) return;
+        var world = gameState.getWorld();
+        var center = world.getCenterPoint();
+        centerX = center != null ? center.x : 0;
+        centerY = center != null ? center.y : 0;
+        worldRadius = world.getRadius() != null ? world.getRadius() : 0;
+        edgeReach = Vars.EDGE_AVOIDANCE * bot.getSize();
+
+        // The raster is laid out once over the world disc (which only shrinks); it is only rebuilt if the world moves or grows
+        if (cells == 0 || centerX - worldRadius < originX || centerY - worldRadius < originY || centerX + worldRadius > originX + extent
+                || centerY + worldRadius > originY + extent) {
+            layout();
+        }
+
+        ++generation;
+        gasClouds.update(gameState.getGameObjects(), bot.getSize());
+        asteroidFields.update(gameState.getGameObjects(), bot.getSize());
+    }
+
+    // Returns the priority penalty of an object (see Objects.priorityPenalty) as of the last update
+    public int penalty(GameObject object) {
+        return penalty(object.getPosition().x, object.getPosition().y);
+    }
+
+    // Returns the priority penalty of a point as of the last update
+    public int penalty(int x, int y) {
+        int cell = cellOf(x, y);
+        int total = 0;
+        if (gasClouds.covers(cell, x, y)) total += gasClouds.penalty;
+        if (asteroidFields.covers(cell, x, y)) total += asteroidFields.penalty;
+        if (!safeFromEdge(x, y)) total += Vars.EDGE_PENALTY;
+        return total;
+    }
+
+    // Returns whether a point can be safely reached without touching the world edge; same arithmetic as Objects.safeFromEdge
+    public boolean safeFromEdge(int x, int y) {
+        var triangleX = Math.abs(x - centerX);
+        var triangleY = Math.abs(y - centerY);
+        return worldRadius - Math.sqrt(triangleX * triangleX + triangleY * triangleY) > edgeReach;
+    }
+
+    private void layout() {
+        cellSize = Vars.HAZARD_FIELD_CELL_SIZE;
+        cells = Math.max(1, (2 * worldRadius + cellSize - 1) / cellSize);
+        extent = cells * cellSize;
+        originX = centerX - worldRadius;
+        originY = centerY - worldRadius;
+        gasClouds.reset();
+        asteroidFields.reset();
+    }
+
+    // Cell of a point, or -1 outside the raster
+    private int cellOf(int x, int y) {
+        if (cells == 0) return -1;
+        int col = Math.floorDiv(x - originX, cellSize), row = Math.floorDiv(y - originY, cellSize);
+        return col >= 0 && col < cells && row >= 0 && row < cells ? row * cells + col : -1;
+    }
+
+    private static final class Stamp {
+        long idHigh, idLow;
+        int x, y;
+        // The reach was stamped as [bucket, bucket + 1) * HAZARD_REACH_STEP
+        int bucket;
+        int seen;
+    }
+
+    private final class Layer {
+        final ObjectTypes type;
+        final double avoidance;
+        final int penalty;
+        // Exact reach of this layer's hazards as of the last update
+        double reach;
+        // Stamps of the hazards currently on the raster (the first count), followed by spare ones; index maps a hazard's UUID to its stamp
+        final IdIndex index = new IdIndex();
+        Stamp[] stamps = new Stamp[16];
+        int count;
+        int[] covering, touching;
+
+        Layer(ObjectTypes type, double avoidance, int penalty) {
+            this.type = type;
+            this.avoidance = avoidance;
+            this.penalty = penalty;
+        }
+
+        // Drops every stamp and sizes the counts to the current raster
+        void reset() {
+            index.clear();
+            count = 0;
+            covering = new int[cells * cells];
+            touching = new int[cells * cells];
+        }
+
+        // Restamps moved or resized hazards of this layer's type and removes the ones that are gone
+        void update(List<GameObject> objects, int botSize) {
+            reach = botSize * avoidance;
+            int bucket = (int) (reach / Vars.HAZARD_REACH_STEP);
+            if (objects != null) {
+                for (int i = 0; i < objects.size(); i++) {
+                    var obj = objects.get(i);
+                    if (obj.getGameObjectType() != type) continue;
+                    int x = obj.getPosition().x, y = obj.getPosition().y;
+                    int at = index.get(obj.idHigh, obj.idLow);
+                    Stamp stamp;
+                    if (at == -1) {
+                        stamp = add(obj);
+                    } else if ((stamp = stamps[at]).x != x || stamp.y != y || stamp.bucket != bucket) {
+                        stamp(stamp, -1);
+                    } else {
+                        stamp.seen = generation;
+                        continue;
+                    }
+                    stamp.x = x;
+                    stamp.y = y;
+                    stamp.bucket = bucket;
+                    stamp.seen = generation;
+                    stamp(stamp, 1);
+                }
+            }
+
+            for (int i = 0; i < count; ) {
+                var stamp = stamps[i];
+                if (stamp.seen == generation) {
+                    ++i;
+                    continue;
+                }
+                // Swap the last stamp into the hole and keep the removed one as a spare
+                stamp(stamp, -1);
+                index.remove(stamp.idHigh, stamp.idLow);
+                int last = --count;
+                if (i != last) {
+                    stamps[i] = stamps[last];
+                    stamps[last] = stamp;
+                    index.put(stamps[i].idHigh, stamps[i].idLow, i);
+                }
+            }
+        }
+
+        private Stamp add(GameObject obj) {
+            if (count == stamps.length) stamps = Arrays.copyOf(stamps, count * 2);
+            if (stamps[count] == null) stamps[count] = new Stamp();
+            var stamp = stamps[count];
+            stamp.idHigh = obj.idHigh;
+            stamp.idLow = obj.idLow;
+            index.put(obj.idHigh, obj.idLow, count++);
+            return stamp;
+        }
+
+        // Adds (delta 1) or removes (delta -1) a hazard's rounded discs from the cell counts. Only integer points are ever looked up,
+        // so a cell spans the points [x0, x0 + cellSize - 1] on each axis
+        void stamp(Stamp stamp, int delta) {
+            double inner = (double) stamp.bucket * Vars.HAZARD_REACH_STEP, outer = inner + Vars.HAZARD_REACH_STEP;
+            double innerSq = inner * inner, outerSq = outer * outer;
+            int r = (int) Math.ceil(outer);
+            int minCol = Math.max(0, Math.floorDiv(stamp.x - r - originX, cellSize)), maxCol = Math.min(cells - 1, Math.floorDiv(stamp.x + r - originX, cellSize));
+            int minRow = Math.max(0, Math.floorDiv(stamp.y - r - originY, cellSize)), maxRow = Math.min(cells - 1, Math.floorDiv(stamp.y + r - originY, cellSize));
+
+            for (int row = minRow; row <= maxRow; row++) {
+                int y0 = originY + row * cellSize, y1 = y0 + cellSize - 1;
+                long nearY = stamp.y < y0 ? y0 - stamp.y : stamp.y > y1 ? stamp.y - y1 : 0;
+                long farY = Math.max(Math.abs(stamp.y - y0), Math.abs(stamp.y - y1));
+                for (int col = minCol; col <= maxCol; col++) {
+                    int x0 = originX + col * cellSize, x1 = x0 + cellSize - 1;
+                    long nearX = stamp.x < x0 ? x0 - stamp.x : stamp.x > x1 ? stamp.x - x1 : 0;
+                    long farX = Math.max(Math.abs(stamp.x - x0), Math.abs(stamp.x - x1));
+                    if ((double) (farX * farX + farY * farY) <= innerSq) covering[row * cells + col] += delta;
+                    else if ((double) (nearX * nearX + nearY * nearY) <= outerSq) touching[row * cells + col] += delta;
+                }
+            }
+        }
+
+        // Returns whether a point (in a cell, -1 if outside the raster) lies within reach of any hazard of this layer
+        boolean covers(int cell, int x, int y) {
+            if (cell != -1) {
+                if (covering[cell] > 0) return true;
+                if (touching[cell] == 0) return false;
+            }
+            for (int i = 0; i < count; i++) {
+                var stamp = stamps[i];
+                double dx = stamp.x - x, dy = stamp.y - y;
+                if (dx * dx + dy * dy <= reach * reach) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Rakus.Struct;
+
+import java.util.Arrays;
+
+public class IdIndex {
+    // Open-addressing hash map from an object's UUID, kept as its two halves, to a non-negative int such as a list index
+    private static final int ABSENT = -1;
+
+    private long[] high, low;
+    private int[] values;
+    private int size;
+
+    public IdIndex() {
+        this(64);
+    }
+
+    public IdIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        this.high = new long[capacity];
+        this.low = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Returns the value of an id, or -1 if it is not in the index
+    public int get(long idHigh, long idLow) {
+        int mask = values.length - 1;
+        for (int i = hash(idHigh, idLow) & mask; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (high[i] == idHigh && low[i] == idLow) return values[i];
+        }
+        return ABSENT;
+    }
+
+    // Sets the value of an id, replacing its previous value if there is one
+    public void put(long idHigh, long idLow, int value) {
+        if (2 * (size + 1) > values.length) grow();
+        int mask = values.length - 1;
+        int i = hash(idHigh, idLow) & mask;
+        for (; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (high[i] == idHigh && low[i] == idLow) {
+                values[i] = value;
+                return;
+            }
+        }
+        high[i] = idHigh;
+        low[i] = idLow;
+        values[i] = value;
+        ++size;
+    }
+
+    // Removes an id; returns its value, or -1 if it was not in the index
+    public int remove(long idHigh, long idLow) {
+        int mask = values.length - 1;
+        int i = hash(idHigh, idLow) & mask;
+        for (; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (high[i] == idHigh && low[i] == idLow) break;
+        }
+        int value = values[i];
+        if (value == ABSENT) return ABSENT;
+
+        // Shift later entries of the probe run back into the hole unless they would move before their home slot
+        for (int hole = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            if (values[j] == ABSENT) {
+                values[hole] = ABSENT;
+                break;
+            }
+            int home = hash(high[j], low[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                high[hole] = high[j];
+                low[hole] = low[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        --size;
+        return value;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldHigh = high, oldLow = low;
+        int[] oldValues = values;
+        high = new long[oldValues.length * 2];
+        low = new long[oldValues.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, ABSENT);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) put(oldHigh[i], oldLow[i], oldValues[i]);
+        }
+    }
+
+    // UUIDs are random already; folding both halves and mixing once spreads sequential test ids as well
+    private static int hash(long idHigh, long idLow) {
+        long h = (idHigh ^ idLow) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,242 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Models.PlayerAction;
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Util.Geometry;
+import Rakus.Util.Objects;
+import Rakus.Vars;
+
+import java.util.List;
+
+public class ProjectileTracker {
+    // Tracks the projectiles our bot fired by matching new objects in each tick's diff against pending spawns
+    private final Handle[] handles;
+    // Pending spawns, oldest first
+    private final ObjectTypes[] spawnType;
+    private final int[] spawnHeading, spawnX, spawnY, spawnSize, spawnSpeed, spawnTick;
+    private int spawns;
+
+    public static final class Handle {
+        // One tracked projectile; handles are reused once the projectile is gone
+        private ObjectTypes type;
+        private long idHigh, idLow;
+        private GameObject object;
+        private int firedTick, seenTick, lastX, lastY;
+        private double vx, vy;
+
+        // The projectile in the latest state, or null once it is gone
+        public GameObject getObject() {
+            return object;
+        }
+
+        public ObjectTypes getType() {
+            return type;
+        }
+
+        public int getFiredTick() {
+            return firedTick;
+        }
+
+        // Estimated velocity in distance per tick
+        public double getVx() {
+            return vx;
+        }
+
+        public double getVy() {
+            return vy;
+        }
+    }
+
+    public ProjectileTracker() {
+        this(Vars.TRACK_HANDLES);
+    }
+
+    // Tracks at most the given number of projectiles and pending spawns each; the oldest make way for new ones
+    public ProjectileTracker(int capacity) {
+        this.handles = new Handle[capacity];
+        for (int i = 0; i < capacity; i++) handles[i] = new Handle();
+        this.spawnType = new ObjectTypes[capacity];
+        this.spawnHeading = new int[capacity];
+        this.spawnX = new int[capacity];
+        this.spawnY = new int[capacity];
+        this.spawnSize = new int[capacity];
+        this.spawnSpeed = new int[capacity];
+        this.spawnTick = new int[capacity];
+        this.spawns = 0;
+    }
+
+    // Records the action sent for a tick; actions that fire a projectile leave a pending spawn, unless our bot has nothing to fire (the
+    // engine ignores those)
+    public void fired(PlayerAction action, GameObject bot, int tick) {
+        var type = projectileOf(action);
+        if (type == null || bot == null || !canFire(bot, type)) return;
+
+        if (spawns == spawnType.length) removeSpawn(0);
+        spawnType[spawns] = type;
+        spawnHeading[spawns] = Math.floorMod(action.getHeading(), 360);
+        spawnX[spawns] = bot.getPosition().x;
+        spawnY[spawns] = bot.getPosition().y;
+        spawnSize[spawns] = bot.getSize();
+        spawnSpeed[spawns] = bot.getSpeed();
+        spawnTick[spawns] = tick;
+        ++spawns;
+    }
+
+    // Brings the handles up to the tick's state and matches the objects that appeared against the pending spawns; tickDiff may be null
+    public void update(GameState gameState, TickDiff tickDiff, int tick) {
+        for (var handle : handles) {
+            if (handle.object == null) continue;
+            var object = gameState.getGameObject(handle.idHigh, handle.idLow);
+            if (object == null) {
+                Log.info(LogCategory.TRACK, "My {} is gone").arg(handle.type).log();
+                handle.object = null;
+                continue;
+            }
+            int elapsed = tick - handle.seenTick;
+            if (elapsed > 0) {
+                handle.vx = (double) (object.getPosition().x - handle.lastX) / elapsed;
+                handle.vy = (double) (object.getPosition().y - handle.lastY) / elapsed;
+            }
+            see(handle, object, tick);
+        }
+
+        for (int s = spawns - 1; s >= 0; s--) {
+            if (tick - spawnTick[s] <= Vars.OBJECT_SEARCH_TIME) continue;
+            Log.info(LogCategory.TRACK, "Failed to find my {}, stopping search").arg(spawnType[s]).log();
+            removeSpawn(s);
+        }
+        if (spawns == 0) return;
+
+        List<GameObject> candidates = tickDiff != null ? tickDiff.getAdded() : gameState.getGameObjects();
+        for (int i = 0; i < candidates.size() && spawns > 0; i++) {
+            var object = candidates.get(i);
+            if (!isPending(object.getGameObjectType()) || (tickDiff == null && isTracked(object))) continue;
+            int s = matchSpawn(object, tick);
+            if (s == -1) continue;
+
+            var handle = freeHandle();
+            handle.type = spawnType[s];
+            handle.idHigh = object.idHigh;
+            handle.idLow = object.idLow;
+            handle.firedTick = spawnTick[s];
+            handle.vx = object.getSpeed() * Geometry.cos(object.getCurrentHeading());
+            handle.vy = object.getSpeed() * Geometry.sin(object.getCurrentHeading());
+            see(handle, object, tick);
+            Log.info(LogCategory.TRACK, "Found my {} towards {}").arg(handle.type).arg(object.getCurrentHeading()).log();
+            removeSpawn(s);
+        }
+    }
+
+    // Whether a projectile of a type was fired and has not been found yet
+    public boolean isPending(ObjectTypes type) {
+        for (int s = 0; s < spawns; s++) {
+            if (spawnType[s] == type) return true;
+        }
+        return false;
+    }
+
+    // The most recently fired projectile of a type that still exists, or null
+    public Handle latest(ObjectTypes type) {
+        Handle latest = null;
+        for (var handle : handles) {
+            if (handle.object != null && handle.type == type && (latest == null || handle.firedTick > latest.firedTick)) latest = handle;
+        }
+        return latest;
+    }
+
+    // The object of latest(type), or null
+    public GameObject latestObject(ObjectTypes type) {
+        var handle = latest(type);
+        return handle != null ? handle.object : null;
+    }
+
+    private static ObjectTypes projectileOf(PlayerAction action) {
+        if (action.getAction() == null) return null;
+        switch (action.getAction()) {
+            case FIRETORPEDOES:
+                return ObjectTypes.TORPEDO_SALVO;
+            case FIRETELEPORT:
+                return ObjectTypes.TELEPORTER;
+            case FIRESUPERNOVA:
+                return ObjectTypes.SUPERNOVA_BOMB;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean canFire(GameObject bot, ObjectTypes type) {
+        switch (type) {
+            case TORPEDO_SALVO:
+                return bot.getTorpedoCharge() > 0;
+            case TELEPORTER:
+                return bot.getTeleporterCharge() > 0;
+            default:
+                return bot.hasSupernova();
+        }
+    }
+
+    // The pending spawn an object fits best, or -1. The object must head where its spawn was fired at, and lie on that heading's ray
+    // from where our bot was, no further out than it could have travelled since; both allow for how far our bot may have moved since
+    private int matchSpawn(GameObject object, int tick) {
+        int best = -1;
+        double bestOffset = Double.POSITIVE_INFINITY;
+        for (int s = 0; s < spawns; s++) {
+            if (spawnType[s] != object.getGameObjectType()
+                    || Objects.headingDiff(spawnHeading[s], object.getCurrentHeading()) > Vars.TRACK_HEADING_TOLERANCE) continue;
+
+            int elapsed = Math.max(1, tick - spawnTick[s]);
+            double tolerance = Vars.TRACK_SPAWN_TOLERANCE + (double) spawnSpeed[s] * elapsed;
+            double dx = object.getPosition().x - spawnX[s], dy = object.getPosition().y - spawnY[s];
+            double hx = Geometry.cos(spawnHeading[s]), hy = Geometry.sin(spawnHeading[s]);
+            double along = dx * hx + dy * hy;
+            double offset = Math.abs(dy * hx - dx * hy);
+            double reach = spawnSize[s] + object.getSize() + 1 + (double) object.getSpeed() * elapsed;
+            if (along < -tolerance || along > reach + tolerance || offset > tolerance) continue;
+            if (offset < bestOffset) {
+                best = s;
+                bestOffset = offset;
+            }
+        }
+        return best;
+    }
+
+    private boolean isTracked(GameObject object) {
+        for (var handle : handles) {
+            if (handle.object != null && handle.idHigh == object.idHigh && handle.idLow == object.idLow) return true;
+        }
+        return false;
+    }
+
+    // An unused handle, or the one fired longest ago
+    private Handle freeHandle() {
+        Handle oldest = handles[0];
+        for (var handle : handles) {
+            if (handle.object == null) return handle;
+            if (handle.firedTick < oldest.firedTick) oldest = handle;
+        }
+        return oldest;
+    }
+
+    private static void see(Handle handle, GameObject object, int tick) {
+        handle.object = object;
+        handle.seenTick = tick;
+        handle.lastX = object.getPosition().x;
+        handle.lastY = object.getPosition().y;
+    }
+
+    private void removeSpawn(int s) {
+        --spawns;
+        System.arraycopy(spawnType, s + 1, spawnType, s, spawns - s);
+        System.arraycopy(spawnHeading, s + 1, spawnHeading, s, spawns - s);
+        System.arraycopy(spawnX, s + 1, spawnX, s, spawns - s);
+        System.arraycopy(spawnY, s + 1, spawnY, s, spawns - s);
+        System.arraycopy(spawnSize, s + 1, spawnSize, s, spawns - s);
+        System.arraycopy(spawnSpeed, s + 1, spawnSpeed, s, spawns - s);
+        System.arraycopy(spawnTick, s + 1, spawnTick, s, spawns - s);
+        spawnType[spawns] = null;
+    }
+}
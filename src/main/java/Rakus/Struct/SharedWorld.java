@@ -0,0 +1,166 @@
+package Rakus.Struct;
+
+import Models.GameState;
+import Models.StateFrame;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+public class SharedWorld {
+    // One world model shared by every bot of a match hosted in the same JVM; the first bot to take a tick applies it
+    private final WorldModel model;
+    private final StampedLock lock;
+    private int lastTick;
+    private GameState last;
+    private Reader[] readers;
+    private int readerCount;
+
+    public static final class Reader {
+        // One bot reading the world: the stamps of the applies it acquired last and the time before, and its diff since the latter
+        private int stamp, since;
+        private final TickDiff own;
+        private TickDiff diff;
+        // How long its last acquire waited for the lock, and how long the rest of it took (applying the frame, if it was newer)
+        private long waitNanos, applyNanos;
+
+        private Reader(int stamp) {
+            this.stamp = stamp;
+            this.since = stamp;
+            this.own = new TickDiff(-1);
+            this.diff = null;
+        }
+    }
+
+    public SharedWorld() {
+        this.model = new WorldModel();
+        this.lock = new StampedLock();
+        this.lastTick = -1;
+        this.last = null;
+        this.readers = new Reader[4];
+        this.readerCount = 0;
+    }
+
+    // Registers a bot that reads the world; its diffs then cover every apply since its own previous acquire
+    public Reader join() {
+        long stamp = lock.writeLock();
+        try {
+            var reader = new Reader(model.getStamp());
+            if (readerCount == readers.length) readers = Arrays.copyOf(readers, readerCount * 2);
+            readers[readerCount++] = reader;
+            return reader;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Unregisters a bot, so that the objects it has not seen removed yet can be reused
+    public void leave(Reader reader) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                if (readers[i] != reader) continue;
+                readers[i] = readers[--readerCount];
+                readers[readerCount] = null;
+                break;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Sets the radius around the interest players outside which game objects are decoded lazily (see WorldModel); 0 turns it off
+    public void setInterest(double radius) {
+        long stamp = lock.writeLock();
+        try {
+            model.setInterest(radius);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Adds a bot whose surroundings are decoded fully; every bot sharing the world adds itself once registered
+    public void addInterest(UUID id) {
+        long stamp = lock.writeLock();
+        try {
+            model.addInterest(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Pins the world's latest state for reading, applying the frame first if its tick is newer than any applied so far; a frame older
+    // than the world (another bot already applied a later tick) is not applied. Returns the stamp to release the state with
+    public long acquire(Reader reader, StateFrame frame) {
+        long start = System.nanoTime();
+        long stamp = lock.readLock();
+        reader.waitNanos = System.nanoTime() - start;
+        if (isNewer(frame)) stamp = apply(reader, stamp, frame);
+
+        // A reader that skipped applies (other bots applied ticks it never took) gets the changes since its own last acquire; the
+        // model keeps the objects removed since then from being reused until it has
+        int latest = model.getStamp();
+        if (reader.stamp >= latest - 1) {
+            reader.diff = model.getLastDiff();
+        } else {
+            model.diffSince(reader.stamp, reader.own);
+            reader.diff = reader.own;
+        }
+        reader.since = reader.stamp;
+        reader.stamp = latest;
+        reader.applyNanos = System.nanoTime() - start - reader.waitNanos;
+        return stamp;
+    }
+
+    private long apply(Reader reader, long stamp, StateFrame frame) {
+        long write = lock.tryConvertToWriteLock(stamp);
+        if (write == 0) {
+            long start = System.nanoTime();
+            lock.unlockRead(stamp);
+            write = lock.writeLock();
+            reader.waitNanos += System.nanoTime() - start;
+        }
+        if (isNewer(frame)) {
+            Integer tick = frame.world.getCurrentTick();
+            int retain = Integer.MAX_VALUE;
+            for (int i = 0; i < readerCount; i++) retain = Math.min(retain, readers[i].since);
+            model.setRetainSince(retain);
+            last = model.apply(frame);
+            last.ensureIndex();
+            // Lazily decoded objects may only be decoded by one thread; bots sharing the state read it concurrently
+            if (readerCount > 1) model.decodeShared(Vars.SHARED_DECODE_RADIUS);
+            lastTick = tick != null ? tick : -1;
+        }
+        return lock.tryConvertToReadLock(write);
+    }
+
+    public void release(long stamp) {
+        lock.unlockRead(stamp);
+    }
+
+    // The pinned state; only valid between acquire and release
+    public GameState getState() {
+        return last;
+    }
+
+    // The reader's change feed into the pinned state, since its previous acquire; only valid between acquire and release
+    public TickDiff getDiff(Reader reader) {
+        return reader.diff;
+    }
+
+    // How long the reader's last acquire waited for the lock (for other bots still reading, or applying, a state)
+    public long getWaitNanos(Reader reader) {
+        return reader.waitNanos;
+    }
+
+    // How long the reader's last acquire took besides waiting: applying the frame if it was newer, and collecting the reader's diff
+    public long getApplyNanos(Reader reader) {
+        return reader.applyNanos;
+    }
+
+    private boolean isNewer(StateFrame frame) {
+        Integer tick = frame.world.getCurrentTick();
+        return last == null || tick == null || tick > lastTick;
+    }
+}
@@ -0,0 +1,168 @@
+package Rakus.Struct;
+
+import Models.GameObject;
+import Models.Position;
+import Models.World;
+import Rakus.Func.ObjectFilter;
+import Rakus.Func.ObjectVisitor;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class SpatialGrid {
+    // Uniform grid over the world disc; each cell stores snapshot slots, bucketed with a counting sort. Distances are tested against
+    // the snapshot columns, so only objects that are actually in range are touched as GameObjects
+    private final WorldSnapshot snapshot;
+    private int originX, originY;
+    private int cellSize, cells;
+    private int[] cellStart;
+    private int[] cellItems;
+    private int[] cellOf;
+    private int[] fill;
+
+    private static final ObjectFilter<Predicate<GameObject>> TEST = (pred, param, obj) -> pred.test(obj);
+
+    public SpatialGrid(WorldSnapshot snapshot, World world) {
+        this.snapshot = snapshot;
+        this.cellStart = new int[1];
+        this.cellItems = new int[0];
+        this.cellOf = new int[0];
+        this.fill = new int[0];
+        rebuild(world);
+    }
+
+    // Rebuckets the snapshot's current contents, e.g. after WorldSnapshot.rebuild; arrays are reused as long as they are large enough
+    public void rebuild(World world) {
+        var center = world.getCenterPoint();
+        int cx = center != null ? center.x : 0, cy = center != null ? center.y : 0;
+        int radius = world.getRadius() != null ? world.getRadius() : 0;
+        // Worlds without a known radius are sized to fit the objects instead
+        for (int i = 0; i < snapshot.count(); i++)
+            radius = Math.max(radius, Math.max(Math.abs(snapshot.x(i) - cx), Math.abs(snapshot.y(i) - cy)));
+
+        this.cellSize = Math.max(Vars.SPATIAL_GRID_MIN_CELL_SIZE, (2 * radius + Vars.SPATIAL_GRID_CELLS - 1) / Vars.SPATIAL_GRID_CELLS);
+        this.cells = Math.max(1, (2 * radius + cellSize - 1) / cellSize);
+        this.originX = cx - radius;
+        this.originY = cy - radius;
+
+        // Count objects per cell, then turn counts into bucket offsets and scatter the slots
+        int n = snapshot.count(), total = cells * cells;
+        if (cellStart.length < total + 1) {
+            cellStart = new int[total + 1];
+            fill = new int[total];
+        } else {
+            Arrays.fill(cellStart, 0, total + 1, 0);
+            Arrays.fill(fill, 0, total, 0);
+        }
+        if (cellItems.length < n) {
+            cellItems = new int[n];
+            cellOf = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cellIndex(column(snapshot.x(i)), row(snapshot.y(i)));
+            ++cellStart[cellOf[i] + 1];
+        }
+        for (int c = 0; c < total; c++)
+            cellStart[c + 1] += cellStart[c];
+        for (int i = 0; i < n; i++)
+            cellItems[cellStart[cellOf[i]] + fill[cellOf[i]]++] = i;
+    }
+
+    // Appends every object satisfying a predicate within a distance from a position to a list, in no particular order
+    public void findWithin(Position pos, double radius, Predicate<GameObject> pred, List<GameObject> out) {
+        visitWithin(pos, radius, obj -> {
+            if (pred.test(obj)) out.add(obj);
+            return true;
+        });
+    }
+
+    // Calls a visitor for every object within a distance from a position until it returns false; returns false if stopped early
+    public boolean visitWithin(Position pos, double radius, ObjectVisitor visitor) {
+        int r = (int) Math.ceil(radius);
+        int minCol = column(pos.x - r), maxCol = column(pos.x + r);
+        int minRow = row(pos.y - r), maxRow = row(pos.y + r);
+        double radiusSq = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = cellIndex(col, row);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int slot = cellItems[k];
+                    if (snapshot.distanceSq(slot, pos.x, pos.y) <= radiusSq && !visitor.visit(snapshot.view(slot)))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Returns whether any object satisfying a predicate lies within a distance from a position, stopping at the first match
+    public boolean anyWithin(Position pos, double radius, Predicate<GameObject> pred) {
+        return anyWithin(pos, radius, TEST, pred, 0);
+    }
+
+    // Same as anyWithin with a predicate, for a filter that is handed an argument and a parameter instead of capturing them
+    public <T> boolean anyWithin(Position pos, double radius, ObjectFilter<T> filter, T arg, int param) {
+        int r = (int) Math.ceil(radius);
+        int minCol = column(pos.x - r), maxCol = column(pos.x + r);
+        int minRow = row(pos.y - r), maxRow = row(pos.y + r);
+        double radiusSq = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = cellIndex(col, row);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int slot = cellItems[k];
+                    if (snapshot.distanceSq(slot, pos.x, pos.y) <= radiusSq && filter.test(arg, param, snapshot.view(slot)))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Returns the nearest object satisfying a predicate within a distance from a position, or null if there is none
+    public GameObject findClosest(Position pos, double radius, Predicate<GameObject> pred) {
+        return findClosest(pos, radius, TEST, pred, 0);
+    }
+
+    // Same as findClosest with a predicate, for a filter that is handed an argument and a parameter instead of capturing them
+    public <T> GameObject findClosest(Position pos, double radius, ObjectFilter<T> filter, T arg, int param) {
+        int r = (int) Math.ceil(radius);
+        int minCol = column(pos.x - r), maxCol = column(pos.x + r);
+        int minRow = row(pos.y - r), maxRow = row(pos.y + r);
+        double bestSq = radius * radius;
+        int best = -1;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = cellIndex(col, row);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int slot = cellItems[k];
+                    double d = snapshot.distanceSq(slot, pos.x, pos.y);
+                    // Ties are broken by slot (list) order, matching a stable sort over the whole list
+                    if ((best == -1 ? d <= bestSq : d < bestSq || (d == bestSq && slot < best)) && filter.test(arg, param, snapshot.view(slot))) {
+                        best = slot;
+                        bestSq = d;
+                    }
+                }
+            }
+        }
+        return best == -1 ? null : snapshot.view(best);
+    }
+
+    // Objects beyond the grid bounds (e.g. outside a shrunk world) are clamped into the border cells
+    private int column(int x) {
+        return Math.min(cells - 1, Math.max(0, (x - originX) / cellSize));
+    }
+
+    private int row(int y) {
+        return Math.min(cells - 1, Math.max(0, (y - originY) / cellSize));
+    }
+
+    private int cellIndex(int col, int row) {
+        return row * cells + col;
+    }
+}
@@ -0,0 +1,180 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Models.World;
+import Rakus.Func.ObjectFilter;
+import Rakus.Util.Objects;
+import Rakus.Vars;
+import Services.BotService;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class TickContext {
+    // Everything a bot state needs for a single tick, plus a memo of query results shared by the tick's evaluators and actions
+    private final BotService botService;
+    private final TrajectoryTable trajectories;
+    private final HazardField hazards;
+    private GameState gameState;
+    private GameObject bot;
+    private GameObject currentTarget;
+    private GameObject teleporter;
+    private GameObject supernova;
+
+    // Memo: open addressing over (query, parameter) keys, 0 marking a free slot; a slot's key is claimed before its result is stored
+    private static final int MEMO_SLOTS = 64;
+    private final AtomicLongArray memoKeys = new AtomicLongArray(MEMO_SLOTS);
+    private final AtomicReferenceArray<Object> memoValues = new AtomicReferenceArray<>(MEMO_SLOTS);
+
+    // Stands in for a memoized null, so that a stored null can be told from a result that is not stored yet
+    private static final Object NONE = new Object();
+    private static final ObjectTypes[] TYPES = ObjectTypes.values();
+
+    // Filter for enemy players of the context's bot, e.g. for Objects queries given the context as their argument
+    public static final ObjectFilter<TickContext> ENEMY = (ctx, param, obj) -> ctx.isEnemy(obj);
+
+    // Query shapes; a shape plus an integer parameter identifies a memoized result
+    private enum Query {
+        LARGER_ENEMY, SMALLER_ENEMY, LARGEST_ENEMY, CLOSEST_OF_TYPE, FEED_TARGET
+    }
+
+    public TickContext(BotService botService) {
+        this(botService, new TrajectoryTable(botService.getGameState(), botService.getBot()));
+    }
+
+    public TickContext(BotService botService, TrajectoryTable trajectories) {
+        this.botService = botService;
+        this.trajectories = trajectories;
+        this.hazards = botService.getHazardField();
+        reset();
+    }
+
+    // Starts a new tick: takes the bot service's current game state, bot and tracked objects, and drops every memoized result. The
+    // trajectory table is expected to be updated for the tick already
+    public void reset() {
+        this.gameState = botService.getGameState();
+        this.bot = botService.getBot();
+        this.currentTarget = botService.getCurrentTarget();
+        this.teleporter = botService.getTeleporter();
+        this.supernova = botService.getSupernova();
+        for (int i = 0; i < MEMO_SLOTS; i++) {
+            memoKeys.set(i, 0);
+            memoValues.set(i, null);
+        }
+    }
+
+    public BotService getBotService() {
+        return botService;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public World getWorld() {
+        return gameState.getWorld();
+    }
+
+    public GameObject getBot() {
+        return bot;
+    }
+
+    public GameObject getCurrentTarget() {
+        return currentTarget;
+    }
+
+    public GameObject getTeleporter() {
+        return teleporter;
+    }
+
+    public GameObject getSupernova() {
+        return supernova;
+    }
+
+    public TrajectoryTable getTrajectories() {
+        return trajectories;
+    }
+
+    public HazardField getHazards() {
+        return hazards;
+    }
+
+    // Returns whether an object is an enemy player to this tick's bot
+    public boolean isEnemy(GameObject object) {
+        return Objects.isEnemyPlayer(object, bot);
+    }
+
+    // Returns the nearest enemy player at least as large as the bot, or null if there is none
+    public GameObject closestLargerEnemy() {
+        return memo(Query.LARGER_ENEMY, 0);
+    }
+
+    // Returns the nearest enemy player smaller than the bot by more than a margin, or null if there is none
+    public GameObject closestSmallerEnemy(int margin) {
+        return memo(Query.SMALLER_ENEMY, margin);
+    }
+
+    // Returns the largest enemy player (the last one of equal size in list order), or null if there is none
+    public GameObject largestEnemy() {
+        return memo(Query.LARGEST_ENEMY, 0);
+    }
+
+    // Returns the nearest game object of a type, or null if there is none
+    public GameObject closestOfType(ObjectTypes type) {
+        return memo(Query.CLOSEST_OF_TYPE, type.ordinal());
+    }
+
+    // Returns the food FEED goes for: the current target if it is still present, otherwise the nearest food with a low enough penalty
+    public GameObject feedTarget() {
+        return memo(Query.FEED_TARGET, 0);
+    }
+
+    // Returns an object if it lies within a distance from the bot, otherwise null; narrows a memoized nearest result to a search radius
+    public GameObject within(GameObject object, double radius) {
+        return Objects.isWithin(bot, object, radius) ? object : null;
+    }
+
+    private GameObject compute(Query query, int param) {
+        switch (query) {
+            case LARGER_ENEMY:
+                return Objects.findClosestPlayer(gameState, bot, (ctx, unused, player) -> ctx.isEnemy(player) && ctx.bot.getSize() <= player.getSize(), this, 0);
+            case SMALLER_ENEMY:
+                return Objects.findClosestPlayer(gameState, bot, (ctx, margin, player) -> ctx.isEnemy(player) && ctx.bot.getSize() > margin + player.getSize(), this, param);
+            case LARGEST_ENEMY:
+                return Objects.findMaxPlayer(gameState, GameObject::getSize, ENEMY, this, 0);
+            case CLOSEST_OF_TYPE:
+                return Objects.findClosestOfType(gameState, bot, TYPES[param]);
+            case FEED_TARGET:
+                GameObject target = currentTarget;
+                // Search new food target if transitioning in from another state or current food is already eaten
+                if (!Objects.isFood(target) || !Objects.exists(gameState, target))
+                    target = Objects.findClosest(gameState, bot, (ctx, unused, obj) -> Objects.isFood(obj) && ctx.hazards.penalty(obj) <= Vars.FEED_PENALTY_THRESHOLD, this, 0);
+                return target;
+            default:
+                throw new IllegalArgumentException(query.name());
+        }
+    }
+
+    // Concurrent evaluators may both compute a missing result; queries are pure over the context, so whichever is stored first is the
+    // same value the other would have stored. A result that is claimed but not stored yet is computed again rather than waited for
+    private GameObject memo(Query query, int param) {
+        long key = ((long) (query.ordinal() + 1) << 32) | (param & 0xffffffffL);
+        int i = (int) (key ^ (key >>> 29)) & (MEMO_SLOTS - 1);
+        for (int probes = 0; probes < MEMO_SLOTS; probes++, i = (i + 1) & (MEMO_SLOTS - 1)) {
+            long k = memoKeys.get(i);
+            if (k == 0) {
+                var result = compute(query, param);
+                if (memoKeys.compareAndSet(i, 0, key)) memoValues.set(i, result != null ? result : NONE);
+                return result;
+            }
+            if (k == key) {
+                Object cached = memoValues.get(i);
+                if (cached == null) return compute(query, param);
+                return cached == NONE ? null : (GameObject) cached;
+            }
+        }
+        return compute(query, param);
+    }
+}
@@ -0,0 +1,110 @@
+package Rakus.Struct;
+
+import Models.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TickDiff {
+    // Change feed of a single tick: game and player objects that appeared, disappeared or had any attribute changed since the last tick
+    private int tick;
+    private final List<GameObject> added;
+    private final List<GameObject> removed;
+    private final List<GameObject> changed;
+    // Game objects whose attributes were all decoded when the tick was applied, and those of which only the type and position were;
+    // lazy lists the latter that were left with attributes to decode, and shared counts those decodeShared decoded
+    private int decodedFully;
+    private int decodedLazily;
+    private final List<GameObject> lazy;
+    private int shared;
+
+    public TickDiff(int tick) {
+        this.tick = tick;
+        this.added = new ArrayList<>();
+        this.removed = new ArrayList<>();
+        this.changed = new ArrayList<>();
+        this.decodedFully = 0;
+        this.decodedLazily = 0;
+        this.lazy = new ArrayList<>();
+        this.shared = 0;
+    }
+
+    // Empties the diff for reuse by another tick
+    public void reset(int tick) {
+        this.tick = tick;
+        added.clear();
+        removed.clear();
+        changed.clear();
+        decodedFully = 0;
+        decodedLazily = 0;
+        lazy.clear();
+        shared = 0;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public List<GameObject> getAdded() {
+        return added;
+    }
+
+    public List<GameObject> getRemoved() {
+        return removed;
+    }
+
+    public List<GameObject> getChanged() {
+        return changed;
+    }
+
+    public void setDecoded(int fully, int lazily) {
+        this.decodedFully = fully;
+        this.decodedLazily = lazily;
+    }
+
+    public int getDecodedFully() {
+        return decodedFully;
+    }
+
+    public int getDecodedLazily() {
+        return decodedLazily;
+    }
+
+    // Game objects left with attributes to decode when the tick was applied
+    public List<GameObject> getLazy() {
+        return lazy;
+    }
+
+    // Lazily decoded objects that decodeShared decoded up front
+    public int getDecodedShared() {
+        return shared;
+    }
+
+    // Lazily decoded objects that have had their attributes decoded since because something read them (not those decodeShared decoded)
+    public int getDecodedOnDemand() {
+        int decoded = 0;
+        for (int i = 0; i < lazy.size(); i++)
+            if (!lazy.get(i).isLazy()) ++decoded;
+        return decoded - shared;
+    }
+
+    // Decodes the objects still left lazy whose edge lies within radius of the edge of a bot at (x, y), so that other threads may read
+    // them; queries never look further than Vars.SHARED_DECODE_RADIUS, and what is read all over the map is never left lazy (see
+    // WorldModel)
+    public void decodeShared(int x, int y, int size, double radius) {
+        for (int i = 0; i < lazy.size(); i++) {
+            var object = lazy.get(i);
+            if (!object.isLazy()) continue;
+            double reach = radius + size + object.receivedSize();
+            double dx = object.getPosition().x - x, dy = object.getPosition().y - y;
+            if (dx * dx + dy * dy > reach * reach) continue;
+            object.decode();
+            ++shared;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tick %d: +%d -%d ~%d", tick, added.size(), removed.size(), changed.size());
+    }
+}
@@ -0,0 +1,147 @@
+package Rakus.Struct;
+
+import Rakus.Metrics.TickMetrics;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class TickScheduler {
+    // Keeps a bot's tick within a time budget by shedding or deferring evaluators and ANY checks, most critical first
+    private static final BotState[] EVALUATION_ORDER = {
+            BotState.FLEE_LOW, BotState.CHASE_HIGH, BotState.CHASE_LOW, BotState.PICK_SUPERNOVA, BotState.FEED, BotState.IDLE
+    };
+
+    private final TickMetrics metrics;
+    private long budgetNanos;
+    private long tickStart;
+    private int tick;
+
+    // Per bot state: last score and the tick it was computed in (-1 if never), and a moving average of its cost
+    private final int[] lastScore = new int[BotState.values().length];
+    private final int[] scoredTick = new int[BotState.values().length];
+    private final double[] averageCost = new double[BotState.values().length];
+
+    // One reusable task per bot state for scoring states in parallel; a task is reinitialized before it is forked again
+    private final Evaluation[] evaluations = new Evaluation[BotState.values().length];
+    private final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[BotState.values().length];
+    private int submitted;
+
+    private static class Evaluation implements Runnable {
+        final BotState state;
+        TickContext ctx;
+
+        Evaluation(BotState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void run() {
+            BotState.evaluate(state, ctx, ctx.getBotService().getMetrics(), ctx.getBotService().getScheduler());
+        }
+    }
+
+    public TickScheduler(TickMetrics metrics, long budgetNanos) {
+        this.metrics = metrics;
+        this.budgetNanos = budgetNanos;
+        Arrays.fill(scoredTick, -1);
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    // Starts timing a tick (startNanos is a System.nanoTime value)
+    public void beginTick(int tick, long startNanos) {
+        this.tick = tick;
+        this.tickStart = startNanos;
+    }
+
+    // The System.nanoTime value at which a share of the tick's budget is spent
+    public long deadline(double share) {
+        return tickStart + (long) (budgetNanos * share);
+    }
+
+    // Bot states in the order they are scored, most critical first
+    public static BotState[] evaluationOrder() {
+        return EVALUATION_ORDER;
+    }
+
+    // Returns whether a state should be scored now; if not, its last score is to be reused (see lastScore)
+    public boolean shouldEvaluate(BotState state) {
+        int i = state.ordinal();
+        if (scoredTick[i] == -1 || isCritical(state)) return true;
+        if (System.nanoTime() > deadline(Vars.SCHED_EVAL_SHARE)) {
+            metrics.evaluatorShed(state);
+            return false;
+        }
+        if (averageCost[i] > Vars.SCHED_EXPENSIVE_NANOS && tick - scoredTick[i] < Vars.SCHED_EXPENSIVE_CADENCE) {
+            metrics.evaluatorDeferred(state);
+            return false;
+        }
+        return true;
+    }
+
+    // Remembers a state's score and what it cost; states may be scored concurrently, each from a single thread
+    public void evaluated(BotState state, int score, long nanos) {
+        int i = state.ordinal();
+        averageCost[i] = scoredTick[i] == -1 ? nanos : averageCost[i] + Vars.SCHED_COST_SMOOTHING * (nanos - averageCost[i]);
+        lastScore[i] = score;
+        scoredTick[i] = tick;
+    }
+
+    // Scores a state on a pool; the score lands in lastScore once awaitEvaluations returns
+    void submitEvaluation(ForkJoinPool pool, BotState state, TickContext ctx) {
+        int i = state.ordinal();
+        if (evaluations[i] == null) tasks[i] = ForkJoinTask.adapt(evaluations[i] = new Evaluation(state));
+        else tasks[i].reinitialize();
+        evaluations[i].ctx = ctx;
+        submitted |= 1 << i;
+        pool.execute(tasks[i]);
+    }
+
+    // Waits for every state submitted since the last call, even if some failed; then rethrows the first failure
+    void awaitEvaluations() {
+        Throwable failure = null;
+        try {
+            for (int pending = submitted; pending != 0; pending &= pending - 1) {
+                try {
+                    tasks[Integer.numberOfTrailingZeros(pending)].join();
+                } catch (RuntimeException | Error e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+        } finally {
+            submitted = 0;
+        }
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure != null) throw (Error) failure;
+    }
+
+    public int lastScore(BotState state) {
+        return lastScore[state.ordinal()];
+    }
+
+    // Returns whether a state's last score was computed before the current tick
+    public boolean isStale(BotState state) {
+        return scoredTick[state.ordinal()] != tick;
+    }
+
+    // Returns whether an ANY check should run now
+    public boolean shouldRun(AnyCheck check) {
+        if (check.critical || System.nanoTime() <= deadline(Vars.SCHED_ANY_SHARE)) return true;
+        metrics.checkShed(check);
+        return false;
+    }
+
+    // Only FLEE_LOW guards against an immediate threat, and IDLE costs nothing
+    private static boolean isCritical(BotState state) {
+        return state == BotState.FLEE_LOW || state == BotState.IDLE;
+    }
+}
@@ -0,0 +1,92 @@
+package Rakus.Struct;
+
+import Models.GameObject;
+
+public class TopK {
+    // Bounded max-heap keeping the k game objects with the smallest keys; reusable across queries to avoid allocation
+    private final GameObject[] items;
+    private final double[] keys;
+    private int size;
+
+    public TopK(int k) {
+        this.items = new GameObject[k];
+        this.keys = new double[k];
+        this.size = 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) items[i] = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Offers a game object with its key; it is kept only if it ranks among the k smallest keys seen so far
+    public void offer(GameObject object, double key) {
+        if (size < items.length) {
+            items[size] = object;
+            keys[size] = key;
+            siftUp(size++);
+        } else if (size > 0 && key < keys[0]) {
+            items[0] = object;
+            keys[0] = key;
+            siftDown(0, size);
+        }
+    }
+
+    // Orders the kept objects ascending by key in place; call once after the last offer, before reading with get
+    public void sort() {
+        // Heapsort: repeatedly move the current maximum behind the shrinking heap
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    public GameObject get(int i) {
+        return items[i];
+    }
+
+    public double key(int i) {
+        return keys[i];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (keys[parent] >= keys[i]) return;
+            swap(parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int largest = i, left = 2 * i + 1, right = left + 1;
+            if (left < end && keys[left] > keys[largest]) largest = left;
+            if (right < end && keys[right] > keys[largest]) largest = right;
+            if (largest == i) return;
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        var item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        var key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+    }
+}
@@ -0,0 +1,224 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Rakus.Util.Geometry;
+import Rakus.Util.Objects;
+import Rakus.Vars;
+
+import java.util.List;
+
+public class TrajectoryTable {
+    // Straight-line projection of every moving object over a short horizon, with what the bot states need against our bot
+    private static final double NEVER = Double.POSITIVE_INFINITY;
+
+    private final int horizon;
+    private final IdIndex rows;
+    private GameObject bot;
+    private int count;
+    private GameObject[] objects;
+    private double[] vx, vy;
+    // Predicted positions; row r at t ticks ahead is stored at r * (horizon + 1) + t
+    private int[] px, py;
+    private double[] impactTime;
+    private int[] approachDiff, moveLead, torpedoLead, teleporterLead;
+
+    public TrajectoryTable(GameState gameState, GameObject bot) {
+        this(gameState, bot, Vars.PREDICT_HORIZON_TICKS);
+    }
+
+    public TrajectoryTable(GameState gameState, GameObject bot, int horizon) {
+        this(horizon);
+        update(gameState, bot);
+    }
+
+    // Empty table, to be filled by update
+    public TrajectoryTable(int horizon) {
+        this.horizon = horizon;
+        this.rows = new IdIndex();
+        this.bot = null;
+        allocate(16);
+    }
+
+    // Refills the table for a tick, replacing its previous rows; arrays are only reallocated if the tick has more moving objects than
+    // any before it
+    public void update(GameState gameState, GameObject bot) {
+        this.bot = bot;
+        for (int i = 0; i < count; i++) objects[i] = null;
+        this.count = 0;
+        rows.clear();
+        if (bot == null) return;
+
+        int capacity = countTracked(gameState.getPlayerGameObjects()) + countTracked(gameState.getGameObjects());
+        if (capacity > objects.length) allocate(Math.max(capacity, objects.length * 2));
+        addAll(gameState.getPlayerGameObjects());
+        addAll(gameState.getGameObjects());
+    }
+
+    private void allocate(int capacity) {
+        this.objects = new GameObject[capacity];
+        this.vx = new double[capacity];
+        this.vy = new double[capacity];
+        this.px = new int[capacity * (horizon + 1)];
+        this.py = new int[capacity * (horizon + 1)];
+        this.impactTime = new double[capacity];
+        this.approachDiff = new int[capacity];
+        this.moveLead = new int[capacity];
+        this.torpedoLead = new int[capacity];
+        this.teleporterLead = new int[capacity];
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    // Returns the row of an object, or -1 if it is not a tracked moving object
+    public int find(GameObject object) {
+        if (object == null) return -1;
+        return rows.get(object.idHigh, object.idLow);
+    }
+
+    public GameObject object(int row) {
+        return objects[row];
+    }
+
+    // Velocity of a row, in distance per tick along each axis
+    public double vx(int row) {
+        return vx[row];
+    }
+
+    public double vy(int row) {
+        return vy[row];
+    }
+
+    // Predicted position of a row after some ticks (0 is the current position), clamped to the horizon
+    public int x(int row, int ticks) {
+        return px[row * (horizon + 1) + Math.min(Math.max(ticks, 0), horizon)];
+    }
+
+    public int y(int row, int ticks) {
+        return py[row * (horizon + 1) + Math.min(Math.max(ticks, 0), horizon)];
+    }
+
+    // Returns the ticks until an object touches the bot if both keep their course, 0 if they already touch, or infinity if they never
+    // will (including objects that are not tracked)
+    public double timeToImpact(GameObject object) {
+        int row = find(object);
+        return row != -1 ? impactTime[row] : NEVER;
+    }
+
+    // Returns the angle between an object's heading and the direction from the bot to it; 180 means it is coming straight at the bot.
+    // Objects that are not tracked are measured directly
+    public int approachDiff(GameObject object) {
+        int row = find(object);
+        return row != -1 ? approachDiff[row] : approachDiffOf(object);
+    }
+
+    // Returns the heading the bot should move in to meet an object, falling back to the direct heading if it cannot be caught
+    public int moveLead(GameObject object) {
+        int row = find(object);
+        return row != -1 ? moveLead[row] : Objects.headingBetween(bot, object);
+    }
+
+    // Returns the heading a torpedo salvo should be fired in to hit an object, falling back to the direct heading
+    public int torpedoLead(GameObject object) {
+        int row = find(object);
+        return row != -1 ? torpedoLead[row] : Objects.headingBetween(bot, object);
+    }
+
+    // Returns the heading a teleporter should be fired in to meet an object, falling back to the direct heading
+    public int teleporterLead(GameObject object) {
+        int row = find(object);
+        return row != -1 ? teleporterLead[row] : Objects.headingBetween(bot, object);
+    }
+
+    private void addAll(List<GameObject> list) {
+        if (list == null) return;
+        for (int i = 0; i < list.size(); i++) {
+            var obj = list.get(i);
+            if (isTracked(obj) && !Objects.equals(obj, bot) && rows.get(obj.idHigh, obj.idLow) == -1)
+                add(obj);
+        }
+    }
+
+    private void add(GameObject obj) {
+        int row = count++;
+        int heading = obj.getCurrentHeading();
+        double x0 = obj.getPosition().x, y0 = obj.getPosition().y;
+        objects[row] = obj;
+        vx[row] = obj.getSpeed() * Geometry.cos(heading);
+        vy[row] = obj.getSpeed() * Geometry.sin(heading);
+        for (int t = 0, base = row * (horizon + 1); t <= horizon; t++) {
+            px[base + t] = (int) Math.round(x0 + vx[row] * t);
+            py[base + t] = (int) Math.round(y0 + vy[row] * t);
+        }
+        rows.put(obj.idHigh, obj.idLow, row);
+
+        // Relative position and velocity against the bot, which is assumed to keep its own course
+        int botHeading = bot.getCurrentHeading();
+        double rx = x0 - bot.getPosition().x, ry = y0 - bot.getPosition().y;
+        double dvx = vx[row] - bot.getSpeed() * Geometry.cos(botHeading);
+        double dvy = vy[row] - bot.getSpeed() * Geometry.sin(botHeading);
+        impactTime[row] = impactTime(rx, ry, dvx, dvy, obj.getSize() + bot.getSize());
+        approachDiff[row] = approachDiffOf(obj);
+        moveLead[row] = lead(row, rx, ry, bot.getSpeed());
+        torpedoLead[row] = lead(row, rx, ry, Vars.TORPEDO_SPEED);
+        teleporterLead[row] = lead(row, rx, ry, Vars.TELEPORTER_SPEED);
+    }
+
+    // Heading from the bot to where a row will be when something launched now at a speed can first reach it. The meeting time t solves
+    // |r + v t| = speed * t; it is capped at the horizon, and without a solution the direct heading is used
+    private int lead(int row, double rx, double ry, double speed) {
+        double a = vx[row] * vx[row] + vy[row] * vy[row] - speed * speed;
+        double b = 2 * (rx * vx[row] + ry * vy[row]);
+        double c = rx * rx + ry * ry;
+        double t = smallestRoot(a, b, c);
+        if (t == NEVER) return Geometry.heading((int) Math.round(rx), (int) Math.round(ry));
+
+        t = Math.min(t, horizon);
+        return Geometry.heading((int) Math.round(rx + vx[row] * t), (int) Math.round(ry + vy[row] * t));
+    }
+
+    // First time at which a point at r moving with relative velocity v comes within a distance of the origin
+    private static double impactTime(double rx, double ry, double vx, double vy, double reach) {
+        double c = rx * rx + ry * ry - reach * reach;
+        if (c <= 0) return 0;
+        return smallestRoot(vx * vx + vy * vy, 2 * (rx * vx + ry * vy), c);
+    }
+
+    // Smallest positive root of a t^2 + b t + c, or infinity if there is none
+    private static double smallestRoot(double a, double b, double c) {
+        if (Math.abs(a) < 1e-9) {
+            double t = b != 0 ? -c / b : -1;
+            return t > 0 ? t : NEVER;
+        }
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) return NEVER;
+        double sqrt = Math.sqrt(disc);
+        double t1 = (-b - sqrt) / (2 * a), t2 = (-b + sqrt) / (2 * a);
+        double lo = Math.min(t1, t2), hi = Math.max(t1, t2);
+        return lo > 0 ? lo : hi > 0 ? hi : NEVER;
+    }
+
+    private int approachDiffOf(GameObject object) {
+        return Objects.headingDiff(Objects.headingBetween(bot, object), object.getCurrentHeading());
+    }
+
+    private static boolean isTracked(GameObject object) {
+        var type = object.getGameObjectType();
+        return type == ObjectTypes.PLAYER || type == ObjectTypes.TORPEDO_SALVO || type == ObjectTypes.TELEPORTER || type == ObjectTypes.SUPERNOVA_BOMB;
+    }
+
+    private static int countTracked(List<GameObject> list) {
+        int n = 0;
+        if (list != null)
+            for (int i = 0; i < list.size(); i++)
+                if (isTracked(list.get(i))) ++n;
+        return n;
+    }
+}
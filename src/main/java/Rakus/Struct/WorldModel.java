@@ -0,0 +1,346 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Models.GameStateDto;
+import Models.StateFrame;
+import Models.World;
+import Rakus.Util.Uuids;
+import Rakus.Vars;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class WorldModel {
+    // Persistent world model fed by every received game state; objects, game states and diffs are recycled after WORLD_MODEL_BUFFERS
+    // applies, and objects outside the area of interest are decoded lazily
+    private final Table objects;
+    private final Table players;
+    private final GameState[] states;
+    private final TickDiff[] diffs;
+    private int stamp;
+    private TickDiff lastDiff;
+
+    // Retired objects in the order they were removed, with the stamps they were added and removed at (a ring of retiredCount from
+    // retiredHead); those removed after retainSince are not reused yet, as a reader may still need them (see diffSince)
+    private GameObject[] retired;
+    private int[] retiredAt, retiredBorn;
+    private int retiredHead, retiredCount;
+    private int retainSince;
+
+    // Area of interest: the radius around the interest players (0 decodes everything fully), and those present in the current tick
+    private double interestRadius;
+    private long[] interestHigh, interestLow;
+    private int interestCount;
+    private final int[] presentX, presentY, presentSize;
+    private int presentCount;
+
+    private static class Table {
+        // Objects of one map of the game state, densely packed, with the stamps of the last apply that contained them, the apply that
+        // added them and the last one that changed them
+        final IdIndex index = new IdIndex();
+        GameObject[] live = new GameObject[64];
+        int[] seen = new int[64];
+        int[] addedAt = new int[64];
+        int[] changedAt = new int[64];
+        int count;
+
+        int add(GameObject object, int stamp) {
+            if (count == live.length) {
+                live = Arrays.copyOf(live, count * 2);
+                seen = Arrays.copyOf(seen, count * 2);
+                addedAt = Arrays.copyOf(addedAt, count * 2);
+                changedAt = Arrays.copyOf(changedAt, count * 2);
+            }
+            index.put(object.idHigh, object.idLow, count);
+            live[count] = object;
+            addedAt[count] = stamp;
+            changedAt[count] = stamp;
+            return count++;
+        }
+
+        // Removes the object at a position, moving the last object into its place
+        void removeAt(int i) {
+            index.remove(live[i].idHigh, live[i].idLow);
+            int last = --count;
+            if (i != last) {
+                live[i] = live[last];
+                seen[i] = seen[last];
+                addedAt[i] = addedAt[last];
+                changedAt[i] = changedAt[last];
+                index.put(live[i].idHigh, live[i].idLow, i);
+            }
+            live[last] = null;
+        }
+    }
+
+    public WorldModel() {
+        this.objects = new Table();
+        this.players = new Table();
+        this.states = new GameState[Vars.WORLD_MODEL_BUFFERS];
+        this.diffs = new TickDiff[Vars.WORLD_MODEL_BUFFERS];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new GameState();
+            diffs[i] = new TickDiff(-1);
+        }
+        this.retired = new GameObject[64];
+        this.retiredAt = new int[64];
+        this.retiredBorn = new int[64];
+        this.retainSince = Integer.MAX_VALUE;
+        this.stamp = 0;
+        this.lastDiff = null;
+        this.interestRadius = 0;
+        this.interestHigh = new long[4];
+        this.interestLow = new long[4];
+        this.presentX = new int[Vars.MAX_INTEREST_PLAYERS];
+        this.presentY = new int[Vars.MAX_INTEREST_PLAYERS];
+        this.presentSize = new int[Vars.MAX_INTEREST_PLAYERS];
+    }
+
+    // Sets the radius of the area of interest around the interest players; 0 turns lazy decoding off
+    public void setInterest(double radius) {
+        this.interestRadius = radius;
+    }
+
+    // Number of interest players added
+    public int getInterestCount() {
+        return interestCount;
+    }
+
+    // Adds a player whose surroundings are decoded fully
+    public void addInterest(long idHigh, long idLow) {
+        for (int k = 0; k < interestCount; k++) {
+            if (interestHigh[k] == idHigh && interestLow[k] == idLow) return;
+        }
+        if (interestCount == interestHigh.length) {
+            interestHigh = Arrays.copyOf(interestHigh, interestCount * 2);
+            interestLow = Arrays.copyOf(interestLow, interestCount * 2);
+        }
+        interestHigh[interestCount] = idHigh;
+        interestLow[interestCount] = idLow;
+        ++interestCount;
+    }
+
+    // Merges a received game state into the model and returns a game state over the (shared) updated objects; the game state and its
+    // diff are recycled WORLD_MODEL_BUFFERS applies later
+    public GameState apply(GameStateDto gameStateDto) {
+        var world = gameStateDto.getWorld();
+        var gameState = begin(world, world != null && world.getCurrentTick() != null ? world.getCurrentTick() : -1);
+        merge(objects, gameStateDto.getGameObjects(), lastDiff, gameState, false);
+        merge(players, gameStateDto.getPlayerObjects(), lastDiff, gameState, true);
+        sweep(objects, lastDiff);
+        sweep(players, lastDiff);
+        return gameState;
+    }
+
+    // Merges a streamed state frame into the model; same result as apply(GameStateDto) without going through maps of boxed lists
+    public GameState apply(StateFrame frame) {
+        var world = frame.world;
+        var gameState = begin(world, world.getCurrentTick() != null ? world.getCurrentTick() : -1);
+        // Players first, so that the area of interest is known when the game objects are merged
+        merge(players, frame.playerObjects, lastDiff, gameState, true);
+        locateInterest();
+        merge(objects, frame.gameObjects, lastDiff, gameState, false);
+        sweep(objects, lastDiff);
+        sweep(players, lastDiff);
+        return gameState;
+    }
+
+    public TickDiff getLastDiff() {
+        return lastDiff;
+    }
+
+    // Stamp of the latest apply; every apply increments it
+    public int getStamp() {
+        return stamp;
+    }
+
+    // Keeps the objects removed after a stamp from being reused, so that diffSince can still report them; MAX_VALUE keeps none
+    public void setRetainSince(int stamp) {
+        this.retainSince = stamp;
+    }
+
+    // Writes the changes between the state of an earlier apply (stamp since, retained) and the latest one into out, for a reader that
+    // skipped applies in between; the decode counts and lazy objects are those of the latest apply
+    public void diffSince(int since, TickDiff out) {
+        out.reset(lastDiff.getTick());
+        diffSince(objects, since, out);
+        diffSince(players, since, out);
+        for (int k = 0; k < retiredCount; k++) {
+            int at = (retiredHead + k) % retired.length;
+            if (retiredAt[at] > since && retiredBorn[at] <= since) out.getRemoved().add(retired[at]);
+        }
+        out.setDecoded(lastDiff.getDecodedFully(), lastDiff.getDecodedLazily());
+        var lazy = lastDiff.getLazy();
+        for (int i = 0; i < lazy.size(); i++) out.getLazy().add(lazy.get(i));
+    }
+
+    private static void diffSince(Table table, int since, TickDiff out) {
+        for (int i = 0; i < table.count; i++) {
+            if (table.addedAt[i] > since) out.getAdded().add(table.live[i]);
+            else if (table.changedAt[i] > since) out.getChanged().add(table.live[i]);
+        }
+    }
+
+    // Takes the next game state and diff buffers for a tick
+    private GameState begin(World world, int tick) {
+        ++stamp;
+        int buffer = stamp % states.length;
+        lastDiff = diffs[buffer];
+        lastDiff.reset(tick);
+        var gameState = states[buffer];
+        gameState.clear();
+        gameState.world = world;
+        return gameState;
+    }
+
+    private void merge(Table table, Map<String, List<Integer>> stateLists, TickDiff diff, GameState gameState, boolean isPlayer) {
+        if (stateLists == null) return;
+        // Always decoded fully
+        if (!isPlayer) diff.setDecoded(stateLists.size(), 0);
+
+        for (Map.Entry<String, List<Integer>> objectEntry : stateLists.entrySet()) {
+            long idHigh = Uuids.high(objectEntry.getKey()), idLow = Uuids.low(objectEntry.getKey());
+            int at = table.index.get(idHigh, idLow);
+            GameObject object;
+            if (at == -1) {
+                object = acquire();
+                object.setFromStateList(idHigh, idLow, objectEntry.getValue());
+                at = table.add(object, stamp);
+                diff.getAdded().add(object);
+            } else {
+                object = table.live[at];
+                if (object.updateFromStateList(objectEntry.getValue())) {
+                    table.changedAt[at] = stamp;
+                    diff.getChanged().add(object);
+                }
+            }
+            table.seen[at] = stamp;
+
+            if (isPlayer) gameState.addPlayerGameObject(object);
+            else gameState.addGameObject(object);
+        }
+    }
+
+    private void merge(Table table, StateFrame.Section section, TickDiff diff, GameState gameState, boolean isPlayer) {
+        var attribs = section.attribs();
+        int fully = 0, lazily = 0;
+        for (int i = 0; i < section.count(); i++) {
+            long idHigh = Uuids.high(section.id(i)), idLow = Uuids.low(section.id(i));
+            int offset = section.offset(i), length = section.length(i);
+            boolean lazy = !isPlayer && !isOfInterest(attribs, offset);
+            int at = table.index.get(idHigh, idLow);
+            GameObject object;
+            if (at == -1) {
+                object = acquire();
+                if (lazy) object.setLazilyFromStateArray(idHigh, idLow, attribs, offset, length);
+                else object.setFromStateArray(idHigh, idLow, attribs, offset, length);
+                at = table.add(object, stamp);
+                diff.getAdded().add(object);
+            } else {
+                object = table.live[at];
+                boolean changed = lazy
+                        ? object.updateLazilyFromStateArray(attribs, offset, length)
+                        : object.updateFromStateArray(attribs, offset, length);
+                if (changed) {
+                    table.changedAt[at] = stamp;
+                    diff.getChanged().add(object);
+                }
+            }
+            table.seen[at] = stamp;
+            if (lazy) ++lazily;
+            else ++fully;
+            if (object.isLazy()) diff.getLazy().add(object);
+
+            if (isPlayer) gameState.addPlayerGameObject(object);
+            else gameState.addGameObject(object);
+        }
+        if (!isPlayer) diff.setDecoded(fully, lazily);
+    }
+
+    // Decodes the lazily decoded objects of the last apply within radius of any interest player, so that several threads may read it
+    public void decodeShared(double radius) {
+        var diff = getLastDiff();
+        for (int k = 0; k < presentCount; k++) diff.decodeShared(presentX[k], presentY[k], presentSize[k], radius);
+    }
+
+    // Finds where the interest players are in the tick just merged
+    private void locateInterest() {
+        presentCount = 0;
+        if (interestRadius <= 0) return;
+        for (int k = 0; k < interestCount && presentCount < presentX.length; k++) {
+            int at = players.index.get(interestHigh[k], interestLow[k]);
+            if (at == -1 || players.seen[at] != stamp) continue;
+            var player = players.live[at];
+            presentX[presentCount] = player.getPosition().x;
+            presentY[presentCount] = player.getPosition().y;
+            presentSize[presentCount] = player.getSize();
+            ++presentCount;
+        }
+    }
+
+    // Whether a game object must be decoded fully: lazy decoding is off, no interest player is in the tick (so there is no telling
+    // what will be looked at), it is read all over the map (supernova pickups are looked for, projectiles are predicted), or it lies
+    // within the interest radius of an interest player's edge
+    private boolean isOfInterest(int[] attribs, int offset) {
+        int type = attribs[offset + 3];
+        if (presentCount == 0 || type == ObjectTypes.SUPERNOVA_PICKUP.value || type == ObjectTypes.TORPEDO_SALVO.value
+                || type == ObjectTypes.TELEPORTER.value || type == ObjectTypes.SUPERNOVA_BOMB.value) return true;
+        double x = attribs[offset + 4], y = attribs[offset + 5];
+        for (int k = 0; k < presentCount; k++) {
+            double reach = interestRadius + presentSize[k] + attribs[offset];
+            double dx = x - presentX[k], dy = y - presentY[k];
+            if (dx * dx + dy * dy <= reach * reach) return true;
+        }
+        return false;
+    }
+
+    // Drops every object that was not part of the latest game state
+    private void sweep(Table table, TickDiff diff) {
+        for (int i = 0; i < table.count; ) {
+            if (table.seen[i] == stamp) {
+                ++i;
+                continue;
+            }
+            var object = table.live[i];
+            diff.getRemoved().add(object);
+            retire(object, table.addedAt[i]);
+            table.removeAt(i);
+        }
+    }
+
+    private void retire(GameObject object, int born) {
+        if (retiredCount == retired.length) {
+            // Unroll the ring into arrays twice as large
+            var objects = new GameObject[retired.length * 2];
+            var at = new int[retired.length * 2];
+            var borns = new int[retired.length * 2];
+            for (int k = 0; k < retiredCount; k++) {
+                objects[k] = retired[(retiredHead + k) % retired.length];
+                at[k] = retiredAt[(retiredHead + k) % retired.length];
+                borns[k] = retiredBorn[(retiredHead + k) % retired.length];
+            }
+            retired = objects;
+            retiredAt = at;
+            retiredBorn = borns;
+            retiredHead = 0;
+        }
+        int tail = (retiredHead + retiredCount++) % retired.length;
+        retired[tail] = object;
+        retiredAt[tail] = stamp;
+        retiredBorn[tail] = born;
+    }
+
+    // Returns a retired object that no recycled game state or diff can still refer to, or a new one
+    private GameObject acquire() {
+        if (retiredCount == 0 || retiredAt[retiredHead] + states.length > stamp || retiredAt[retiredHead] > retainSince)
+            return new GameObject();
+        var object = retired[retiredHead];
+        retired[retiredHead] = null;
+        retiredHead = (retiredHead + 1) % retired.length;
+        --retiredCount;
+        return object;
+    }
+}
@@ -0,0 +1,152 @@
+package Rakus.Struct;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Rakus.Util.Geometry;
+
+import java.util.List;
+
+public class WorldSnapshot {
+    // Columnar copy of a list of game objects: one primitive array per attribute, indexed by the object's list index
+    private static final ObjectTypes[] TYPES = ObjectTypes.values();
+
+    private int count;
+    private int[] x, y, size, speed, heading, type, effects;
+    private GameObject[] views;
+
+    public WorldSnapshot(List<GameObject> objects) {
+        int n = objects != null ? objects.size() : 0;
+        this.x = new int[n];
+        this.y = new int[n];
+        this.size = new int[n];
+        this.speed = new int[n];
+        this.heading = new int[n];
+        this.type = new int[n];
+        this.effects = new int[n];
+        this.views = new GameObject[n];
+        rebuild(objects);
+    }
+
+    // Copies a list of game objects into the snapshot, replacing its contents; the columns are only reallocated if the list outgrew them
+    public void rebuild(List<GameObject> objects) {
+        int n = objects != null ? objects.size() : 0;
+        if (views.length < n) {
+            int capacity = Math.max(n, views.length * 2);
+            this.x = new int[capacity];
+            this.y = new int[capacity];
+            this.size = new int[capacity];
+            this.speed = new int[capacity];
+            this.heading = new int[capacity];
+            this.type = new int[capacity];
+            this.effects = new int[capacity];
+            this.views = new GameObject[capacity];
+        }
+        for (int i = n; i < count; i++) views[i] = null;
+        this.count = n;
+
+        for (int i = 0; i < n; i++) {
+            var obj = objects.get(i);
+            x[i] = obj.getPosition().x;
+            y[i] = obj.getPosition().y;
+            size[i] = obj.receivedSize();
+            speed[i] = obj.receivedSpeed();
+            heading[i] = obj.receivedHeading();
+            type[i] = obj.getGameObjectType().ordinal();
+            effects[i] = obj.getActiveEffects();
+            views[i] = obj;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int x(int slot) {
+        return x[slot];
+    }
+
+    public int y(int slot) {
+        return y[slot];
+    }
+
+    public int size(int slot) {
+        return size[slot];
+    }
+
+    public int speed(int slot) {
+        return speed[slot];
+    }
+
+    public int heading(int slot) {
+        return heading[slot];
+    }
+
+    public ObjectTypes type(int slot) {
+        return TYPES[type[slot]];
+    }
+
+    public boolean isType(int slot, ObjectTypes objectType) {
+        return type[slot] == objectType.ordinal();
+    }
+
+    public boolean hasEffect(int slot, Effects effect) {
+        return (effects[slot] & Effects.flagOf(effect)) != 0;
+    }
+
+    public int effects(int slot) {
+        return effects[slot];
+    }
+
+    // Returns the GameObject backing a slot, for code that still works on objects
+    public GameObject view(int slot) {
+        return views[slot];
+    }
+
+    // Returns the squared distance between a slot and a point
+    public double distanceSq(int slot, int px, int py) {
+        double dx = x[slot] - px, dy = y[slot] - py;
+        return dx * dx + dy * dy;
+    }
+
+    // Writes the squared distance from a point to every slot into out (at least count long); a plain counted loop over the coordinate
+    // columns, which the JIT unrolls and vectorizes
+    public void distancesSq(int px, int py, long[] out) {
+        for (int i = 0; i < count; i++) {
+            long dx = x[i] - px, dy = y[i] - py;
+            out[i] = dx * dx + dy * dy;
+        }
+    }
+
+    // Writes the heading from a point to every slot into out (at least count long), with Objects.headingBetween semantics
+    public void headingsFrom(int px, int py, int[] out) {
+        for (int i = 0; i < count; i++)
+            out[i] = Geometry.heading(x[i] - px, y[i] - py);
+    }
+
+    // Returns how many objects lie within a distance from a point
+    public int countWithin(int px, int py, double radius) {
+        if (radius < 0) return 0;
+        double radiusSq = radius * radius;
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            long dx = x[i] - px, dy = y[i] - py;
+            n += dx * dx + dy * dy <= radiusSq ? 1 : 0;
+        }
+        return n;
+    }
+
+    // Returns the slot of the nearest object of a type to a point within a distance, or -1 if there is none; ties keep the lower slot
+    public int findClosest(ObjectTypes objectType, int px, int py, double radius) {
+        int t = objectType.ordinal(), best = -1;
+        double bestSq = radius * radius;
+        for (int i = 0; i < count; i++) {
+            if (type[i] != t) continue;
+            double d = distanceSq(i, px, py);
+            if (best == -1 ? d <= bestSq : d < bestSq) {
+                best = i;
+                bestSq = d;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,72 @@
+package Rakus.Util;
+
+public class Geometry {
+    // Integer geometry on raw coordinates; heading matches truncated Math.atan2 degrees using a lookup table
+    private static final int RATIO_STEPS = 1024;
+    private static final byte[] FLOOR_DEGREES = new byte[RATIO_STEPS + 1];
+    private static final double[] TAN = new double[47];
+    private static final double[] COS = new double[360], SIN = new double[360];
+
+    static {
+        for (int k = 0; k < TAN.length; k++)
+            TAN[k] = Math.tan(Math.toRadians(k));
+        for (int d = 0; d < 360; d++) {
+            COS[d] = Math.cos(Math.toRadians(d));
+            SIN[d] = Math.sin(Math.toRadians(d));
+        }
+        for (int i = 0; i <= RATIO_STEPS; i++)
+            FLOOR_DEGREES[i] = (byte) Math.floor(Math.toDegrees(Math.atan((double) i / RATIO_STEPS)) + 1e-9);
+    }
+
+    // Returns the squared distance between two points
+    public static long distanceSq(int x1, int y1, int x2, int y2) {
+        long dx = x2 - x1, dy = y2 - y1;
+        return dx * dx + dy * dy;
+    }
+
+    // Returns whether two points are within a distance of each other, without a square root
+    public static boolean isWithin(int x1, int y1, int x2, int y2, double radius) {
+        return radius >= 0 && distanceSq(x1, y1, x2, y2) <= radius * radius;
+    }
+
+    // Returns the direction (0..359 degrees) of the vector (dx, dy), with the game's truncation semantics
+    public static int heading(int dx, int dy) {
+        int ax = Math.abs(dx), ay = Math.abs(dy);
+        // Floor and ceiling of the angle in the first quadrant, from the octant below or above the diagonal
+        int floor, ceil;
+        if (ay <= ax) {
+            floor = octantFloor(ay, ax);
+            ceil = octantCeil(ay, ax, floor);
+        } else {
+            int f = octantFloor(ax, ay);
+            floor = 90 - octantCeil(ax, ay, f);
+            ceil = 90 - f;
+        }
+
+        if (dy >= 0) return dx >= 0 ? floor : 180 - ceil;
+        return dx >= 0 ? (360 - floor) % 360 : 180 + ceil;
+    }
+
+    // Returns the x component of a unit vector pointing at a heading (in whole degrees, any range)
+    public static double cos(int heading) {
+        return COS[Math.floorMod(heading, 360)];
+    }
+
+    // Returns the y component of a unit vector pointing at a heading (in whole degrees, any range)
+    public static double sin(int heading) {
+        return SIN[Math.floorMod(heading, 360)];
+    }
+
+    // Whole degrees of atan(minor / major) for 0 <= minor <= major, rounded down
+    private static int octantFloor(int minor, int major) {
+        if (major == 0) return 0;
+        int degree = FLOOR_DEGREES[(int) ((long) minor * RATIO_STEPS / major)];
+        if (degree < 45 && minor >= major * TAN[degree + 1]) ++degree;
+        return degree;
+    }
+
+    // Whole degrees of atan(minor / major) rounded up; only 0 and 45 degree angles are whole
+    private static int octantCeil(int minor, int major, int floor) {
+        return minor == 0 || minor == major ? floor : floor + 1;
+    }
+}
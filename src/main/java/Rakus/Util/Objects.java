@@ -2,50 +2,55 @@ package Rakus.Util;
 
 import Enums.ObjectTypes;
 import Models.GameObject;
+import Models.GameState;
+import Models.World;
+import Rakus.Func.ObjectFilter;
+import Rakus.Func.ObjectKey;
+import Rakus.Func.ObjectVisitor;
+import Rakus.Struct.SpatialGrid;
+import Rakus.Struct.TopK;
+import Rakus.Struct.WorldSnapshot;
 import Rakus.Vars;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
-import static Rakus.Vars.botService;
-
 public class Objects {
-    // Returns a game object with the given UUID, or null if such game object doesn't exist
-    public static GameObject findWithUUID(UUID id) {
-        var gameState = botService.getGameState();
-
-        var res = gameState.getPlayerGameObjects().stream().filter(obj -> id.equals(obj.getId())).findAny();
-        if (res.isEmpty())
-            res = gameState.getGameObjects().stream().filter(obj -> id.equals(obj.getId())).findAny();
+    // Queries taking an ObjectFilter and a non-capturing lambda never allocate; queries returning lists are kept for tools
+    private static final ObjectFilter<Predicate<GameObject>> TEST = (pred, param, obj) -> pred.test(obj);
+    private static final ObjectKey<ToDoubleFunction<GameObject>> KEY = (key, param, obj) -> key.applyAsDouble(obj);
 
-        if (res.isEmpty())
-            return null;
-        return res.get();
+    // Returns a game object with the given UUID, or null if such game object doesn't exist
+    public static GameObject findWithUUID(GameState gameState, UUID id) {
+        var res = gameState.getPlayerGameObject(id);
+        return res != null ? res : gameState.getGameObject(id);
     }
 
-    // Returns the instance of a stored object in the current game state (with the same UUID but updated state)
-    public static GameObject findSelf(GameObject object) {
+    // Returns the instance of a stored object in a game state (with the same UUID but updated state)
+    public static GameObject findSelf(GameState gameState, GameObject object) {
         if (object == null) return null;
 
-        var optional = botService.getGameState().getGameObjects().stream().filter(obj -> obj.getId().equals(object.getId())).findAny();
-        if (optional.isEmpty())
-            return null;
-        else
-            return optional.get();
+        return gameState.getGameObject(object.idHigh, object.idLow);
+    }
+
+    // Returns whether a game object (by UUID) is still present in a game state
+    public static boolean exists(GameState gameState, GameObject object) {
+        return findSelf(gameState, object) != null;
     }
 
     // Returns a list containing all game objects satisfying a given predicate, sorted ascending by distance to a game object
-    public static List<GameObject> findAll(GameObject object, Predicate<GameObject> pred) {
-        return findAll(item -> distanceBetween(object, item), pred);
+    public static List<GameObject> findAll(GameState gameState, GameObject object, Predicate<GameObject> pred) {
+        return findAll(gameState, item -> distanceSqBetween(object, item), pred);
     }
 
     // Returns a list containing all game objects satisfying a given predicate, sorted ascending by a comparison function
-    public static <T extends Comparable<? super T>> List<GameObject> findAll(Function<GameObject, ? extends T> comparator, Predicate<GameObject> pred) {
-        var gameState = botService.getGameState();
+    public static <T extends Comparable<? super T>> List<GameObject> findAll(GameState gameState, Function<GameObject, ? extends T> comparator, Predicate<GameObject> pred) {
         if (gameState.getGameObjects() == null) return null;
 
         return gameState.getGameObjects()
@@ -54,38 +59,111 @@ public class Objects {
                 .collect(Collectors.toList());
     }
 
-    // Returns a list containing all game objects satisfying a given predicate within a distance from this bot
-    public static List<GameObject> findWithin(GameObject object, Predicate<GameObject> pred, double radius) {
-        return findAll(object, item -> pred.test(item) && isWithin(botService.getBot(), item, radius));
+    // Returns a list containing all game objects satisfying a given predicate within a distance from a game object, sorted ascending by distance
+    public static List<GameObject> findWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        if (gameState.getObjectGrid() == null)
+            return findAll(gameState, object, item -> pred.test(item) && isWithin(object, item, radius));
+
+        return sortedWithin(gameState.getObjectGrid(), object, pred, radius);
+    }
+
+    // Calls a visitor for every game object within a distance from a game object until it returns false; returns false if stopped early
+    public static boolean forEachWithin(GameState gameState, GameObject object, double radius, ObjectVisitor visitor) {
+        if (gameState.getObjectGrid() == null)
+            return visitWithin(gameState.getGameObjects(), object, radius, visitor);
+
+        return gameState.getObjectGrid().visitWithin(object.getPosition(), radius, visitor);
+    }
+
+    // Returns whether any game object satisfying a given predicate lies within a distance from a game object, stopping at the first match
+    public static boolean anyWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        return anyWithin(gameState, object, TEST, pred, 0, radius);
+    }
+
+    // Returns whether any game object passing a filter lies within a distance from a game object, stopping at the first match
+    public static <T> boolean anyWithin(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        if (gameState.getObjectGrid() == null)
+            return findClosestIn(gameState.getGameObjects(), object, filter, arg, param, radius) != null;
+
+        return gameState.getObjectGrid().anyWithin(object.getPosition(), radius, filter, arg, param);
     }
 
     // Returns the nearest (by distance) game object from a game object satisfying a given predicate
-    public static GameObject findClosest(GameObject object, Predicate<GameObject> pred) {
-        return findClosest(item -> distanceBetween(botService.getBot(), item), pred);
+    public static GameObject findClosest(GameState gameState, GameObject object, Predicate<GameObject> pred) {
+        return findClosest(gameState, object, TEST, pred, 0);
     }
 
-    // Returns the smallest (by a comparison function) game object satisfying a given predicate
-    public static <T extends Comparable<? super T>> GameObject findClosest(Function<GameObject, ? extends T> comparator, Predicate<GameObject> pred) {
-        var gameState = botService.getGameState();
-        if (gameState.getGameObjects() == null) return null;
+    // Returns the nearest (by distance) game object from a game object passing a filter
+    public static <T> GameObject findClosest(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param) {
+        if (gameState.getObjectSnapshot() == null)
+            return findClosestIn(gameState.getGameObjects(), object, filter, arg, param, Double.POSITIVE_INFINITY);
 
-        var list = findAll(comparator, pred);
-        return list == null || list.isEmpty() ? null : list.get(0);
+        return findClosestIn(gameState.getObjectSnapshot(), object, filter, arg, param, Double.POSITIVE_INFINITY);
+    }
+
+    // Returns the nearest (by distance) game object of a given type from a game object; scans only the columnar snapshot
+    public static GameObject findClosestOfType(GameState gameState, GameObject object, ObjectTypes type) {
+        var snapshot = gameState.getObjectSnapshot();
+        if (snapshot == null)
+            return findClosestIn(gameState.getGameObjects(), object, (t, param, obj) -> obj.getGameObjectType() == t, type, 0, Double.POSITIVE_INFINITY);
+
+        int slot = snapshot.findClosest(type, object.getPosition().x, object.getPosition().y, Double.POSITIVE_INFINITY);
+        return slot == -1 ? null : snapshot.view(slot);
+    }
+
+    // Returns the nearest (by distance) game object from a game object satisfying a given predicate within a distance from it
+    public static GameObject findClosestWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        return findClosestWithin(gameState, object, TEST, pred, 0, radius);
+    }
+
+    // Returns the nearest (by distance) game object from a game object passing a filter within a distance from it
+    public static <T> GameObject findClosestWithin(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        if (gameState.getObjectGrid() == null)
+            return findClosestIn(gameState.getGameObjects(), object, filter, arg, param, radius);
+
+        return gameState.getObjectGrid().findClosest(object.getPosition(), radius, filter, arg, param);
+    }
+
+    // Returns the smallest (by a key function) game object satisfying a given predicate
+    public static GameObject findClosest(GameState gameState, ToDoubleFunction<GameObject> key, Predicate<GameObject> pred) {
+        return findMin(gameState.getGameObjects(), KEY, TEST, key, pred, 0);
+    }
+
+    // Returns the smallest (by a key) game object passing a filter; the key gets the same argument and parameter as the filter
+    public static <T> GameObject findClosest(GameState gameState, ObjectKey<T> key, ObjectFilter<T> filter, T arg, int param) {
+        return findMin(gameState.getGameObjects(), key, filter, arg, arg, param);
+    }
+
+    // Collects the k nearest game objects from a game object satisfying a given predicate; k is the capacity of the given TopK, which is
+    // cleared first and left sorted ascending by distance
+    public static void findNearest(GameState gameState, GameObject object, Predicate<GameObject> pred, TopK out) {
+        out.clear();
+        if (out.capacity() == 0) return;
+        var snapshot = gameState.getObjectSnapshot();
+        if (snapshot == null) snapshot = new WorldSnapshot(gameState.getGameObjects());
+
+        int px = object.getPosition().x, py = object.getPosition().y;
+        for (int i = 0; i < snapshot.count(); i++) {
+            double d = snapshot.distanceSq(i, px, py);
+            // Only objects that would make it into the heap are tested against the predicate
+            if ((out.size() < out.capacity() || d < out.key(0)) && pred.test(snapshot.view(i)))
+                out.offer(snapshot.view(i), d);
+        }
+        out.sort();
     }
 
     // Returns a list containing all players sorted ascending by distance to a game object
-    public static List<GameObject> findPlayers(GameObject object) {
-        return findPlayers(object, item -> true);
+    public static List<GameObject> findPlayers(GameState gameState, GameObject object) {
+        return findPlayers(gameState, object, item -> true);
     }
 
     // Returns a list containing all players satisfying a given predicate, sorted ascending by distance to a game object
-    public static List<GameObject> findPlayers(GameObject object, Predicate<GameObject> pred) {
-        return findPlayers(player -> distanceBetween(object, player), pred);
+    public static List<GameObject> findPlayers(GameState gameState, GameObject object, Predicate<GameObject> pred) {
+        return findPlayers(gameState, player -> distanceSqBetween(object, player), pred);
     }
 
     // Returns a list containing all players satisfying a given predicate, sorted ascending by a comparison function
-    public static <T extends Comparable<? super T>> List<GameObject> findPlayers(Function<GameObject, ? extends T> comparator, Predicate<GameObject> pred) {
-        var gameState = botService.getGameState();
+    public static <T extends Comparable<? super T>> List<GameObject> findPlayers(GameState gameState, Function<GameObject, ? extends T> comparator, Predicate<GameObject> pred) {
         if (gameState.getPlayerGameObjects() == null) return null;
 
         return gameState.getPlayerGameObjects()
@@ -94,9 +172,153 @@ public class Objects {
                 .collect(Collectors.toList());
     }
 
-    // Returns a list containing all players satisfying a given predicate within a distance from a game object
-    public static List<GameObject> findPlayersWithin(GameObject object, Predicate<GameObject> pred, double radius) {
-        return findPlayers(object, player -> pred.test(player) && isWithin(object, player, radius));
+    // Returns a list containing all players satisfying a given predicate within a distance from a game object, sorted ascending by distance
+    public static List<GameObject> findPlayersWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        if (gameState.getPlayerGrid() == null)
+            return findPlayers(gameState, object, player -> pred.test(player) && isWithin(object, player, radius));
+
+        return sortedWithin(gameState.getPlayerGrid(), object, pred, radius);
+    }
+
+    // Returns whether any player satisfying a given predicate lies within a distance from a game object, stopping at the first match
+    public static boolean anyPlayerWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        return anyPlayerWithin(gameState, object, TEST, pred, 0, radius);
+    }
+
+    // Returns whether any player passing a filter lies within a distance from a game object, stopping at the first match
+    public static <T> boolean anyPlayerWithin(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        if (gameState.getPlayerGrid() == null)
+            return findClosestIn(gameState.getPlayerGameObjects(), object, filter, arg, param, radius) != null;
+
+        return gameState.getPlayerGrid().anyWithin(object.getPosition(), radius, filter, arg, param);
+    }
+
+    // Returns the nearest (by distance) player from a game object satisfying a given predicate
+    public static GameObject findClosestPlayer(GameState gameState, GameObject object, Predicate<GameObject> pred) {
+        return findClosestPlayer(gameState, object, TEST, pred, 0);
+    }
+
+    // Returns the nearest (by distance) player from a game object passing a filter
+    public static <T> GameObject findClosestPlayer(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param) {
+        return findClosestIn(gameState.getPlayerGameObjects(), object, filter, arg, param, Double.POSITIVE_INFINITY);
+    }
+
+    // Returns the nearest (by distance) player from a game object satisfying a given predicate within a distance from it
+    public static GameObject findClosestPlayerWithin(GameState gameState, GameObject object, Predicate<GameObject> pred, double radius) {
+        return findClosestPlayerWithin(gameState, object, TEST, pred, 0, radius);
+    }
+
+    // Returns the nearest (by distance) player from a game object passing a filter within a distance from it
+    public static <T> GameObject findClosestPlayerWithin(GameState gameState, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        if (gameState.getPlayerGrid() == null)
+            return findClosestIn(gameState.getPlayerGameObjects(), object, filter, arg, param, radius);
+
+        return gameState.getPlayerGrid().findClosest(object.getPosition(), radius, filter, arg, param);
+    }
+
+    // Returns the largest (by a key function) player satisfying a given predicate
+    public static GameObject findMaxPlayer(GameState gameState, ToDoubleFunction<GameObject> key, Predicate<GameObject> pred) {
+        return findMaxPlayer(gameState, key, TEST, pred, 0);
+    }
+
+    // Returns the largest (by a key function) player passing a filter
+    public static <T> GameObject findMaxPlayer(GameState gameState, ToDoubleFunction<GameObject> key, ObjectFilter<T> filter, T arg, int param) {
+        return findMax(gameState.getPlayerGameObjects(), key, filter, arg, param);
+    }
+
+    // Queries a spatial grid around a game object and sorts the matches ascending by distance to it
+    private static List<GameObject> sortedWithin(SpatialGrid grid, GameObject object, Predicate<GameObject> pred, double radius) {
+        var res = new ArrayList<GameObject>();
+        grid.findWithin(object.getPosition(), radius, pred, res);
+        res.sort(Comparator.comparingDouble(item -> distanceSqBetween(object, item)));
+        return res;
+    }
+
+    // Single pass over a list for the nearest object within a distance; ties keep the earlier object, like a stable sort would
+    private static <T> GameObject findClosestIn(List<GameObject> objects, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        if (objects == null) return null;
+
+        GameObject best = null;
+        double bestSq = radius * radius;
+        for (int i = 0; i < objects.size(); i++) {
+            var item = objects.get(i);
+            double d = distanceSqBetween(object, item);
+            if ((best == null ? d <= bestSq : d < bestSq) && filter.test(arg, param, item)) {
+                best = item;
+                bestSq = d;
+            }
+        }
+        return best;
+    }
+
+    // Single pass over the snapshot columns for the nearest object within a distance; the predicate only runs on closer candidates
+    private static <T> GameObject findClosestIn(WorldSnapshot snapshot, GameObject object, ObjectFilter<T> filter, T arg, int param, double radius) {
+        int px = object.getPosition().x, py = object.getPosition().y;
+        int best = -1;
+        double bestSq = radius * radius;
+        for (int i = 0; i < snapshot.count(); i++) {
+            double d = snapshot.distanceSq(i, px, py);
+            if ((best == -1 ? d <= bestSq : d < bestSq) && filter.test(arg, param, snapshot.view(i))) {
+                best = i;
+                bestSq = d;
+            }
+        }
+        return best == -1 ? null : snapshot.view(best);
+    }
+
+    private static boolean visitWithin(List<GameObject> objects, GameObject object, double radius, ObjectVisitor visitor) {
+        if (objects == null) return true;
+
+        double radiusSq = radius * radius;
+        for (int i = 0; i < objects.size(); i++) {
+            var item = objects.get(i);
+            if (distanceSqBetween(object, item) <= radiusSq && !visitor.visit(item))
+                return false;
+        }
+        return true;
+    }
+
+    // Single pass over a list for the object with the smallest key; ties keep the earlier object
+    private static <K, T> GameObject findMin(List<GameObject> objects, ObjectKey<K> key, ObjectFilter<T> filter, K keyArg, T arg, int param) {
+        if (objects == null) return null;
+
+        GameObject best = null;
+        double bestKey = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            var item = objects.get(i);
+            if (!filter.test(arg, param, item)) continue;
+            double k = key.key(keyArg, param, item);
+            if (best == null || k < bestKey) {
+                best = item;
+                bestKey = k;
+            }
+        }
+        return best;
+    }
+
+    // Single pass over a list for the object with the largest key; ties keep the later object, i.e. the last element of an ascending sort
+    private static <T> GameObject findMax(List<GameObject> objects, ToDoubleFunction<GameObject> key, ObjectFilter<T> filter, T arg, int param) {
+        if (objects == null) return null;
+
+        GameObject best = null;
+        double bestKey = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            var item = objects.get(i);
+            if (!filter.test(arg, param, item)) continue;
+            double k = key.applyAsDouble(item);
+            if (best == null || k >= bestKey) {
+                best = item;
+                bestKey = k;
+            }
+        }
+        return best;
+    }
+
+    // Returns the squared Euclidean distance between two game objects; cheaper than distanceBetween when only comparing distances
+    public static double distanceSqBetween(GameObject object1, GameObject object2) {
+        double dx = object1.getPosition().x - object2.getPosition().x;
+        double dy = object1.getPosition().y - object2.getPosition().y;
+        return dx * dx + dy * dy;
     }
 
     // Returns the Euclidean distance between two game objects
@@ -106,9 +328,9 @@ public class Objects {
         return Math.sqrt(triangleX * triangleX + triangleY * triangleY);
     }
 
-    // Returns the Euclidean distance between a game object and world origin (0,0)
-    public static double distanceFromOrigin(GameObject object) {
-        var orig = botService.getGameState().getWorld().getCenterPoint();
+    // Returns the Euclidean distance between a game object and the world's center point
+    public static double distanceFromOrigin(World world, GameObject object) {
+        var orig = world.getCenterPoint();
         var triangleX = Math.abs(object.getPosition().x - orig.x);
         var triangleY = Math.abs(object.getPosition().y - orig.y);
         return Math.sqrt(triangleX * triangleX + triangleY * triangleY);
@@ -116,15 +338,12 @@ public class Objects {
 
     // Returns the angle of an object from the world origin
     public static int headingFromOrigin(GameObject object) {
-        var direction = toDegrees(Math.atan2(object.getPosition().y, object.getPosition().x));
-        return (direction + 360) % 360;
+        return Geometry.heading(object.getPosition().x, object.getPosition().y);
     }
 
     // Returns an angle (in degrees) specifying direction from object1 to object2
     public static int headingBetween(GameObject object1, GameObject object2) {
-        var direction = toDegrees(Math.atan2(object2.getPosition().y - object1.getPosition().y,
-                object2.getPosition().x - object1.getPosition().x));
-        return (direction + 360) % 360;
+        return Geometry.heading(object2.getPosition().x - object1.getPosition().x, object2.getPosition().y - object1.getPosition().y);
     }
 
     // Returns a heading that is the reverse of a given heading
@@ -150,13 +369,13 @@ public class Objects {
     }
 
     // Returns priority penalty (if negative, bonus) against a game object from the perspective of a bot
-    public static int priorityPenalty(GameObject object, GameObject bot) {
+    public static int priorityPenalty(GameState gameState, GameObject object, GameObject bot) {
         int total = 0;
-        if (!findWithin(object, obj -> obj.getGameObjectType() == ObjectTypes.GAS_CLOUD, bot.getSize() * Vars.GAS_CLOUD_AVOIDANCE).isEmpty())
+        if (anyWithin(gameState, object, obj -> obj.getGameObjectType() == ObjectTypes.GAS_CLOUD, bot.getSize() * Vars.GAS_CLOUD_AVOIDANCE))
             total += Vars.GAS_CLOUD_PENALTY;
-        if (!findWithin(object, obj -> obj.getGameObjectType() == ObjectTypes.ASTEROID_FIELD, bot.getSize() * Vars.ASTEROID_FIELD_AVOIDANCE).isEmpty())
+        if (anyWithin(gameState, object, obj -> obj.getGameObjectType() == ObjectTypes.ASTEROID_FIELD, bot.getSize() * Vars.ASTEROID_FIELD_AVOIDANCE))
             total += Vars.ASTEROID_FIELD_PENALTY;
-        if (!safeFromEdge(object))
+        if (!safeFromEdge(gameState.getWorld(), object, bot))
             total += Vars.EDGE_PENALTY;
 
         return total;
@@ -172,28 +391,23 @@ public class Objects {
         return object != null && object.getGameObjectType() == ObjectTypes.PLAYER;
     }
 
-    // Returns whether an object is an enemy player to the current bot
-    public static boolean isEnemyPlayer(GameObject object) {
-        return isPlayer(object) && !equals(botService.getBot(), object);
+    // Returns whether an object is an enemy player to a bot
+    public static boolean isEnemyPlayer(GameObject object, GameObject bot) {
+        return isPlayer(object) && !equals(bot, object);
     }
 
     // Returns whether two objects are equal (by UUID)
     public static boolean equals(GameObject a, GameObject b) {
-        return a != null && b != null && a.getId().equals(b.getId());
+        return a != null && b != null && a.hasSameId(b);
     }
 
     // Returns whether two objects are within a distance from each other
     public static boolean isWithin(GameObject a, GameObject b, double radius) {
-        return a != null && b != null && distanceBetween(a, b) <= radius;
-    }
-
-    // Returns whether an object can be safely reached without touching the world edge
-    public static boolean safeFromEdge(GameObject object) {
-        return botService.getGameState().getWorld().getRadius() - distanceFromOrigin(object) > Vars.EDGE_AVOIDANCE * botService.getBot().getSize();
+        return a != null && b != null && Geometry.isWithin(a.getPosition().x, a.getPosition().y, b.getPosition().x, b.getPosition().y, radius);
     }
 
-    // Takes an angle in radians as argument and returns an equivalent angle in degrees
-    private static int toDegrees(double v) {
-        return (int) (v * (180 / Math.PI));
+    // Returns whether an object can be safely reached by a bot without touching the world edge
+    public static boolean safeFromEdge(World world, GameObject object, GameObject bot) {
+        return world.getRadius() - distanceFromOrigin(world, object) > Vars.EDGE_AVOIDANCE * bot.getSize();
     }
 }
@@ -0,0 +1,47 @@
+package Rakus.Util;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class TickSignal {
+    // Hand-off between the thread receiving game states (single producer) and the decision thread (single consumer). The volatile
+    // sequence write in publish makes the state set before it visible to the consumer that observes the new sequence
+    private volatile long sequence;
+    private volatile long receivedAt;
+    private volatile Thread waiter;
+
+    public TickSignal() {
+        this.sequence = 0;
+        this.receivedAt = 0;
+        this.waiter = null;
+    }
+
+    // Announces a new game state; must be called after the state is fully stored
+    public void publish(long receivedAt) {
+        this.receivedAt = receivedAt;
+        this.sequence = sequence + 1;
+
+        var thread = waiter;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    // System.nanoTime at which the latest published state was received
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    // Waits until a state newer than lastSequence is published or the timeout elapses; returns the latest sequence
+    public long await(long lastSequence, WaitStrategy strategy, long timeoutNanos) {
+        // Register before checking, so a publish racing with the check leaves an unpark permit behind
+        waiter = Thread.currentThread();
+        long deadline = System.nanoTime() + timeoutNanos;
+        int attempt = 0;
+        while (sequence == lastSequence && System.nanoTime() - deadline < 0)
+            strategy.idle(attempt++, deadline);
+        waiter = null;
+        return sequence;
+    }
+}
@@ -0,0 +1,63 @@
+package Rakus.Util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class TripleBuffer<T> {
+    // Lock-free, latest-wins hand-off of values from a single producer thread to a single consumer thread
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] values;
+    private final long[] stamps;
+    // Index of the middle slot, with FRESH set while it holds a published value the consumer has not taken yet
+    private final AtomicInteger middle;
+    // Producer only
+    private int back;
+    // Consumer only
+    private int front;
+
+    public TripleBuffer(Supplier<T> factory) {
+        this.values = new Object[]{factory.get(), factory.get(), factory.get()};
+        this.stamps = new long[3];
+        this.middle = new AtomicInteger(1);
+        this.back = 0;
+        this.front = 2;
+    }
+
+    // The producer's slot, to be filled before publish
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) values[back];
+    }
+
+    // Publishes the back slot; the swap's volatile write makes everything stored in it visible to the consumer that takes it
+    public void publish(long stamp) {
+        stamps[back] = stamp;
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // Publishes a value that was not built in the back slot, e.g. one a decoder allocated
+    public void publish(T value, long stamp) {
+        values[back] = value;
+        publish(stamp);
+    }
+
+    // Takes the latest published value, or returns null if nothing was published since the previous acquire
+    public T acquire() {
+        if ((middle.get() & FRESH) == 0) return null;
+        front = middle.getAndSet(front) & INDEX;
+        return front();
+    }
+
+    // The consumer's slot: the value taken by the latest acquire
+    @SuppressWarnings("unchecked")
+    public T front() {
+        return (T) values[front];
+    }
+
+    // Stamp the front value was published with
+    public long frontStamp() {
+        return stamps[front];
+    }
+}
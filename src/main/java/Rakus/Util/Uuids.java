@@ -0,0 +1,34 @@
+package Rakus.Util;
+
+import java.util.UUID;
+
+public class Uuids {
+    // Parses the two halves of a UUID string straight from its characters, so that looking up an object by the id the hub sent does not
+    // allocate a UUID. Canonical 36-character ids (8-4-4-4-12 hex digits) are parsed in place; anything else goes through UUID.fromString
+
+    // Returns the most significant 64 bits of a UUID string
+    public static long high(String id) {
+        if (!isCanonical(id)) return UUID.fromString(id).getMostSignificantBits();
+        return (hex(id, 0, 8) << 32) | (hex(id, 9, 13) << 16) | hex(id, 14, 18);
+    }
+
+    // Returns the least significant 64 bits of a UUID string
+    public static long low(String id) {
+        if (!isCanonical(id)) return UUID.fromString(id).getLeastSignificantBits();
+        return (hex(id, 19, 23) << 48) | hex(id, 24, 36);
+    }
+
+    private static boolean isCanonical(String id) {
+        return id.length() == 36 && id.charAt(8) == '-' && id.charAt(13) == '-' && id.charAt(18) == '-' && id.charAt(23) == '-';
+    }
+
+    private static long hex(String id, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(id.charAt(i), 16);
+            if (digit < 0) throw new IllegalArgumentException("Invalid UUID string: " + id);
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+package Rakus.Util;
+
+import Rakus.Vars;
+
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+    // How the decision thread idles while waiting for the next game state; see TickSignal
+    /* ------------------------------------------------------------------------------------------------------- */
+    // PARK - Sleep until unparked by the receiving thread; cheapest on CPU, pays the OS wake-up latency
+    PARK {
+        @Override
+        void idle(int attempt, long deadline) {
+            LockSupport.parkNanos(deadline - System.nanoTime());
+        }
+    },
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // SPIN_THEN_PARK - Spin for a bounded number of attempts right after a tick, then fall back to parking
+    SPIN_THEN_PARK {
+        @Override
+        void idle(int attempt, long deadline) {
+            if (attempt < Vars.WAIT_SPIN_ATTEMPTS) Thread.onSpinWait();
+            else LockSupport.parkNanos(deadline - System.nanoTime());
+        }
+    },
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // BUSY_SPIN - Never yield the core; lowest latency, only sensible with the decision thread pinned to a dedicated core
+    BUSY_SPIN {
+        @Override
+        void idle(int attempt, long deadline) {
+            Thread.onSpinWait();
+        }
+    };
+
+    /* ------------------------------------------------------------------------------------------------------- */
+    // Idles once; called repeatedly until the awaited condition holds or the deadline (System.nanoTime) passes
+    abstract void idle(int attempt, long deadline);
+
+    // Returns the strategy with a given name (case-insensitive), or PARK if the name is null or unknown
+    public static WaitStrategy fromName(String name) {
+        if (name != null) {
+            for (var strategy : values())
+                if (strategy.name().equalsIgnoreCase(name.trim())) return strategy;
+        }
+        return PARK;
+    }
+}
@@ -1,7 +1,5 @@
 package Rakus;
 
-import Services.BotService;
-
 public class Vars {
     /* ------------------------------------------------------------------------------------------------------- */
     // MODIFIER CONSTANTS
@@ -13,6 +11,10 @@ public class Vars {
             CHASE_HIGH_SCOREMULT = 1f,
             PICK_SUPERNOVA_SCOREMULT = 2f;
 
+    // Modifiers for FEED; food with a higher priority penalty is not targeted
+    public static final int
+            FEED_PENALTY_THRESHOLD = 50;
+
     // Modifiers for FLEE_LOW
     public static final double
             FLEE_LOW_SEARCH_RADIUS = 600,
@@ -49,6 +51,8 @@ public class Vars {
     public static final int
             ANY_SHIELD_HEADING_DIFF = 135,
             ANY_INTERCEPT_HEADING_DIFF = 135;
+    // Incoming torpedoes only raise the shield if they would reach the bot within this many ticks
+    public static final double ANY_SHIELD_IMPACT_TICKS = 3;
 
     // Other modifiers
     public static final double
@@ -76,13 +80,79 @@ public class Vars {
             TORPEDO_SAFE_SIZE = 15,
             TELEPORTER_SAFE_SIZE = 40,
             SHIELD_SAFE_SIZE = 40;
+    // Projectile speeds (distance per tick), used to lead moving targets
+    public static final int
+            TORPEDO_SPEED = 60,
+            TELEPORTER_SPEED = 20;
     // Bot constants
     public static final int
             OBJECT_SEARCH_TIME = 30;
+    // Own projectile tracking: projectiles and pending spawns kept at most, how far a new object may lie off the path of a projectile we
+    // fired (plus how far our bot may have moved since), and how far its heading may be off the one it was fired at
+    public static final int
+            TRACK_HANDLES = 16,
+            TRACK_SPAWN_TOLERANCE = 20,
+            TRACK_HEADING_TOLERANCE = 3;
+    // Lazy decoding: interest players (our bots) a world model looks for in a tick at most, and the largest query radius, within which
+    // lazily decoded objects are decoded up front before other threads read the state
+    public static final int MAX_INTEREST_PLAYERS = 8;
+    public static final double SHARED_DECODE_RADIUS = Math.max(Math.max(CHASE_HIGH_SEARCH_RADIUS, CHASE_LOW_SEARCH_RADIUS), FLEE_LOW_SEARCH_RADIUS);
+    // Decision loop wait: spin attempts before SPIN_THEN_PARK parks, and how long to wait for a state before re-checking the connection
+    public static final int WAIT_SPIN_ATTEMPTS = 20000;
+    public static final long WAIT_TIMEOUT_NANOS = 100_000_000L;
+    // Log ring capacity (a power of two) and how long the log writer sleeps when it has nothing to write
+    public static final int LOG_RING_SIZE = 4096;
+    public static final long LOG_IDLE_PARK_NANOS = 1_000_000L;
+    // Tick metrics are summarized in the log every this many computed ticks
+    public static final int METRICS_DUMP_TICKS = 100;
     // Player object attribute count
     public static final int PLAYER_ATTRIB_COUNT = 11;
-    /* ------------------------------------------------------------------------------------------------------- */
-    // GLOBAL OBJECTS
-    // Current bot service instance
-    public static BotService botService;
+    // Spatial grid dimensions; the world diameter is split into this many cells per axis, but never below the minimum cell size
+    public static final int
+            SPATIAL_GRID_CELLS = 32,
+            SPATIAL_GRID_MIN_CELL_SIZE = 16;
+    // Parallel evaluation; states are only scored concurrently once the world holds at least this many game objects
+    public static final int PARALLEL_EVAL_MIN_OBJECTS = 500;
+    // Tick scheduling: the time a tick may take, the shares of it after which sheddable evaluators and ANY checks are skipped, how often
+    // evaluators costing more than SCHED_EXPENSIVE_NANOS are scored, and how fast their cost average follows new measurements
+    public static final long
+            TICK_BUDGET_NANOS = 20_000_000L,
+            SCHED_EXPENSIVE_NANOS = 2_000_000L;
+    public static final double
+            SCHED_EVAL_SHARE = 0.5,
+            SCHED_ANY_SHARE = 0.8,
+            SCHED_COST_SMOOTHING = 0.2;
+    public static final int SCHED_EXPENSIVE_CADENCE = 3;
+    // Trajectory prediction; moving objects are projected this many ticks ahead, and lead points are never placed further out
+    public static final int PREDICT_HORIZON_TICKS = 10;
+    // Hazard field cell size; smaller cells leave fewer points that have to be checked against hazards directly
+    public static final int HAZARD_FIELD_CELL_SIZE = 8;
+    // Hazard reaches are stamped rounded to this step; a larger step restamps less often as the bot grows but leaves more points
+    // to check directly
+    public static final int HAZARD_REACH_STEP = 8;
+    // Lookahead planner: candidate headings besides the selected state's own, decisions per rollout and ticks each one is held for,
+    // search tree nodes per worker, and the rollouts needed before a plan may override the selected state
+    public static final int
+            PLAN_HEADINGS = 8,
+            PLAN_DECISIONS = 4,
+            PLAN_ACTION_TICKS = 2,
+            PLAN_NODE_POOL = 1 << 15,
+            PLAN_MIN_ROLLOUTS = 64;
+    // Objects the planner's forward model takes into account, nearest first
+    public static final int
+            PLAN_FOOD = 64,
+            PLAN_ENEMIES = 8,
+            PLAN_GAS_CLOUDS = 16,
+            PLAN_TORPEDOES = 16;
+    // Planner scoring: UCB exploration constant, and how much ending far from uneaten food counts against a rollout
+    public static final double
+            PLAN_EXPLORATION = 1.0,
+            PLAN_FOOD_DISTANCE_WEIGHT = 0.1;
+    // World model recycling: game states and diffs are reused round robin over this many buffers, and removed objects are only reused
+    // for new UUIDs after as many further ticks, so whatever a caller still holds from the last few ticks stays intact
+    public static final int WORLD_MODEL_BUFFERS = 3;
+    // MessagePack hub connection: how long to wait for the hub to accept the protocol, and how often to ping it
+    public static final long
+            HUB_HANDSHAKE_TIMEOUT_MS = 15_000,
+            HUB_PING_INTERVAL_MS = 15_000;
 }
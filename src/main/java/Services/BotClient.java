@@ -0,0 +1,282 @@
+package Services;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.GameState;
+import Models.PlayerAction;
+import Models.Position;
+import Models.StateFrame;
+import Rakus.Hub.MessagePackHubConnection;
+import Rakus.Hub.MessagePackHubProtocol;
+import Rakus.Hub.MsgPackReader;
+import Rakus.Hub.WireFormat;
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Metrics.Phase;
+import Rakus.Replay.StateRecorder;
+import Rakus.Struct.SharedWorld;
+import Rakus.Struct.TickDiff;
+import Rakus.Util.TickSignal;
+import Rakus.Util.TripleBuffer;
+import Rakus.Util.WaitStrategy;
+import Rakus.Vars;
+import com.microsoft.signalr.HubConnection;
+import com.microsoft.signalr.HubConnectionBuilder;
+import com.microsoft.signalr.HubConnectionState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+public class BotClient implements Runnable {
+    // One bot connected to the runner: its own hub connection, bot service and decision loop; run() blocks until it disconnects
+    private final String url;
+    private final String token;
+    private final String name;
+    private final SharedWorld sharedWorld;
+    private final WaitStrategy waitStrategy;
+    private final WireFormat wireFormat;
+    private final Path recordPath;
+    private final BotService botService;
+    private final TickSignal tickSignal;
+    private final TripleBuffer<StateFrame> frames;
+    // Set by the receiving thread on registration, taken over by the decision thread
+    private volatile UUID registeredId;
+
+    // sharedWorld may be shared with the other bots of the same match; evalPool and recordPath may be null
+    public BotClient(String url, String token, String name, SharedWorld sharedWorld, WaitStrategy waitStrategy, WireFormat wireFormat,
+                     ForkJoinPool evalPool, Path recordPath) {
+        this.url = url;
+        this.token = token;
+        this.name = name;
+        this.sharedWorld = sharedWorld;
+        this.waitStrategy = waitStrategy;
+        this.wireFormat = wireFormat;
+        this.recordPath = recordPath;
+        this.botService = new BotService();
+        this.tickSignal = new TickSignal();
+        this.frames = new TripleBuffer<>(StateFrame::new);
+        this.registeredId = null;
+        botService.setEvalPool(evalPool);
+        botService.getMetrics().register(token);
+    }
+
+    public BotService getBotService() {
+        return botService;
+    }
+
+    @Override
+    public void run() {
+        try {
+            connect();
+        } catch (Exception e) {
+            Log.error(LogCategory.NET, "{} stopped: {}").arg(name).arg(e.toString()).log();
+        }
+    }
+
+    private void connect() throws Exception {
+        // Incoming game states are recorded to a binary log for ReplayDriver if a path is given
+        StateRecorder recorder = recordPath != null ? new StateRecorder(recordPath) : null;
+
+        if (wireFormat == WireFormat.MESSAGEPACK) connectMessagePack(recorder);
+        else connectJson(recorder);
+
+        if (recorder != null) recorder.close();
+        botService.getMetrics().dump();
+    }
+
+    private void connectJson(StateRecorder recorder) throws Exception {
+        HubConnection hubConnection = HubConnectionBuilder.create(url)
+                .build();
+
+        hubConnection.on("Disconnect", (id) -> {
+            Log.info(LogCategory.NET, "Disconnected: {}").arg(id).log();
+
+            hubConnection.stop();
+        }, UUID.class);
+
+        hubConnection.on("Registered", (id) -> onRegistered(id, recorder), UUID.class);
+
+        // Game states are decoded by StateFrameAdapter straight from the hub's JSON stream, into a new frame each time
+        hubConnection.on("ReceiveGameState", (stateFrame) -> onGameState(stateFrame, System.nanoTime(), recorder), StateFrame.class);
+
+        hubConnection.on("ReceiveGameComplete", this::onGameComplete, String.class);
+
+        hubConnection.on("ReceivePlayerConsumed", this::onPlayerConsumed);
+
+        hubConnection.start().blockingAwait();
+
+        Thread.sleep(1000);
+        Log.info(LogCategory.NET, "Registering {} with the runner...").arg(name).log();
+        hubConnection.send("Register", token, name);
+
+        // This is a blocking call; decisions are made as soon as a new game state is published
+        Log.info(LogCategory.NET, "Waiting for game states using {}").arg(waitStrategy).log();
+        hubConnection.start().subscribe(() -> decide(
+                () -> hubConnection.getConnectionState() == HubConnectionState.CONNECTED,
+                action -> hubConnection.send("SendPlayerAction", action)));
+
+        hubConnection.stop();
+    }
+
+    private void connectMessagePack(StateRecorder recorder) throws Exception {
+        // Game states are decoded straight into the triple buffer's back frame, so frames are reused rather than allocated per tick
+        var connection = new MessagePackHubConnection[1];
+        connection[0] = new MessagePackHubConnection(url, new MessagePackHubProtocol.Handler() {
+            @Override
+            public void invocation(String target, int arguments, MsgPackReader reader) {
+                switch (target) {
+                    case "ReceiveGameState":
+                        long receivedAt = System.nanoTime();
+                        var stateFrame = frames.back();
+                        MessagePackHubProtocol.readGameState(reader, stateFrame);
+                        onGameState(stateFrame, receivedAt, recorder);
+                        break;
+                    case "Registered":
+                        onRegistered(UUID.fromString(reader.readString()), recorder);
+                        break;
+                    case "Disconnect":
+                        Log.info(LogCategory.NET, "Disconnected: {}").arg(reader.readString()).log();
+                        connection[0].stop();
+                        break;
+                    case "ReceiveGameComplete":
+                        onGameComplete(arguments > 0 ? reader.readString() : null);
+                        break;
+                    case "ReceivePlayerConsumed":
+                        onPlayerConsumed();
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            @Override
+            public void close(String error) {
+                Log.info(LogCategory.NET, "Hub closed the connection{}").arg(error != null ? ": " + error : "").log();
+                connection[0].stop();
+            }
+        });
+
+        var hubConnection = connection[0];
+        hubConnection.start();
+        Log.info(LogCategory.NET, "Registering {} with the runner over MessagePack...").arg(name).log();
+        hubConnection.send("Register", token, name);
+
+        Log.info(LogCategory.NET, "Waiting for game states using {}").arg(waitStrategy).log();
+        decide(hubConnection::isConnected, action -> hubConnection.send("SendPlayerAction", action));
+
+        hubConnection.stop();
+        Log.info(LogCategory.NET, "Received {} bytes over MessagePack").arg(hubConnection.getBytesReceived()).log();
+    }
+
+    private void onRegistered(UUID id, StateRecorder recorder) {
+        Log.info(LogCategory.NET, "Registered with the runner {}").arg(id).log();
+
+        // The bot service belongs to the decision thread, which sets the bot before its next tick
+        registeredId = id;
+        if (recorder != null) {
+            try {
+                recorder.setBot(id);
+            } catch (IOException e) {
+                Log.warn(LogCategory.NET, "Failed to record bot id: {}").arg(e.toString()).log();
+            }
+        }
+    }
+
+    // Publishes a decoded game state, either the frames' back frame or one the decoder allocated, and wakes the decision loop;
+    // receivedAt is when the state arrived (System.nanoTime). The frame may still be read here afterwards, as the decision thread never
+    // writes to frames, but it must not be written to again
+    private void onGameState(StateFrame stateFrame, long receivedAt, StateRecorder recorder) {
+        botService.getMetrics().record(Phase.DECODE, stateFrame.getDecodeNanos());
+        if (stateFrame == frames.back()) frames.publish(receivedAt);
+        else frames.publish(stateFrame, receivedAt);
+        tickSignal.publish(receivedAt);
+        // Recorded after publishing, off the decision thread's critical path
+        if (recorder != null) {
+            try {
+                recorder.record(stateFrame);
+            } catch (IOException e) {
+                Log.warn(LogCategory.NET, "Failed to record game state: {}").arg(e.toString()).log();
+            }
+        }
+    }
+
+    private void onGameComplete(String message) {
+        Log.info(LogCategory.NET, "Game over; did I win?").log();
+        Log.info(LogCategory.NET, "Game completed with message: {}").arg(message).log();
+    }
+
+    private void onPlayerConsumed() {
+        Log.info(LogCategory.NET, "Oh no! I've been consumed!").log();
+    }
+
+    // Decision loop: takes the latest published game state, then computes and sends an action for it, until the connection drops
+    private void decide(BooleanSupplier connected, Consumer<PlayerAction> send) {
+        var reader = sharedWorld.join();
+        try {
+            decide(reader, connected, send);
+        } finally {
+            sharedWorld.leave(reader);
+        }
+    }
+
+    private void decide(SharedWorld.Reader reader, BooleanSupplier connected, Consumer<PlayerAction> send) {
+        long lastSequence = tickSignal.getSequence();
+        while (connected.getAsBoolean()) {
+            long sequence = tickSignal.await(lastSequence, waitStrategy, Vars.WAIT_TIMEOUT_NANOS);
+            if (sequence == lastSequence) {
+                continue;
+            }
+            lastSequence = sequence;
+
+            // Null if an earlier wake-up already took the latest state
+            var stateFrame = frames.acquire();
+            if (stateFrame == null) {
+                continue;
+            }
+            long receivedAt = frames.frontStamp();
+
+            var registered = registeredId;
+            if (registered != null) {
+                registeredId = null;
+                sharedWorld.addInterest(registered);
+                botService.setBot(new GameObject(registered, 10, 20, 0, new Position(), ObjectTypes.PLAYER, 0, 0, false, 0, 0));
+            }
+
+            // The state stays pinned until the action is computed, so other bots sharing the world cannot apply a newer tick meanwhile
+            long stamp = sharedWorld.acquire(reader, stateFrame);
+            boolean computed;
+            Integer tick;
+            try {
+                GameState gameState = sharedWorld.getState();
+                TickDiff tickDiff = sharedWorld.getDiff(reader);
+                botService.getMetrics().record(Phase.LOCK_WAIT, sharedWorld.getWaitNanos(reader));
+                botService.getMetrics().record(Phase.APPLY, sharedWorld.getApplyNanos(reader));
+                botService.setGameState(gameState, tickDiff);
+                tick = gameState.getWorld().getCurrentTick();
+
+                GameObject bot = botService.getBot();
+                if (bot == null) {
+                    continue;
+                }
+                botService.getPlayerAction().setPlayerId(bot.getId());
+                computed = botService.computeNextPlayerAction(botService.getPlayerAction());
+            } finally {
+                sharedWorld.release(stamp);
+            }
+
+            if (computed && connected.getAsBoolean()) {
+                var action = botService.getPlayerAction();
+                long sendStart = System.nanoTime();
+                send.accept(action);
+                long sent = System.nanoTime();
+                botService.getMetrics().record(Phase.SEND, sent - sendStart);
+                botService.getMetrics().record(Phase.TICK, sent - receivedAt);
+                Log.info(LogCategory.NET, "Action sent {} ms after receiving tick {}").arg((sent - receivedAt) / 1e6).arg(tick).log();
+            }
+        }
+    }
+}
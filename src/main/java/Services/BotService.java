@@ -1,14 +1,25 @@
 package Services;
 
 import Enums.ObjectTypes;
+import Enums.PlayerActions;
 import Models.GameObject;
 import Models.GameState;
 import Models.PlayerAction;
+import Rakus.Log.Log;
+import Rakus.Log.LogCategory;
+import Rakus.Metrics.Phase;
+import Rakus.Metrics.TickMetrics;
+import Rakus.Plan.Planner;
 import Rakus.Struct.BotState;
-import Rakus.Util.Objects;
+import Rakus.Struct.HazardField;
+import Rakus.Struct.ProjectileTracker;
+import Rakus.Struct.TickContext;
+import Rakus.Struct.TickDiff;
+import Rakus.Struct.TickScheduler;
+import Rakus.Struct.TrajectoryTable;
 import Rakus.Vars;
 
-import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 public class BotService {
     private GameObject bot;
@@ -16,21 +27,29 @@ public class BotService {
     private GameState gameState;
 
     // RAKUS
+    private TickDiff tickDiff;
     private int lastTickUpdate;
-
+    private ForkJoinPool evalPool;
+    private Planner planner;
+    private final TickMetrics metrics;
+    private final HazardField hazards;
+    private final TickScheduler scheduler;
+    private final TrajectoryTable trajectories;
+    private final TickContext context;
+    private final ProjectileTracker projectiles;
+
+    // Objects kept from tick to tick are re-resolved by UUID, as the world model reuses the GameObject of a removed object for another
+    private long botIdHigh, botIdLow;
     private BotState botState;
     private GameObject currentTarget;
+    private long targetIdHigh, targetIdLow;
 
     private int torpedoCooldown;
 
     private GameObject teleporter;
-    private int teleporterSearchTime;
     private int teleporterCooldown;
-    private boolean hasFiredTeleporter;
 
     private GameObject supernova;
-    private int supernovaSearchTime;
-    private boolean hasFiredSupernova;
     // END RAKUS
 
     public BotService() {
@@ -38,7 +57,17 @@ public class BotService {
         this.gameState = new GameState();
 
         // RAKUS
+        this.tickDiff = null;
         this.lastTickUpdate = -1;
+        this.evalPool = null;
+        this.planner = null;
+        this.metrics = new TickMetrics();
+        this.hazards = new HazardField();
+        this.scheduler = new TickScheduler(metrics, Vars.TICK_BUDGET_NANOS);
+        // Refilled and reset every tick rather than rebuilt, so that computing an action allocates nothing
+        this.trajectories = new TrajectoryTable(Vars.PREDICT_HORIZON_TICKS);
+        this.context = new TickContext(this, trajectories);
+        this.projectiles = new ProjectileTracker();
 
         this.botState = BotState.IDLE;
         this.currentTarget = null;
@@ -46,14 +75,9 @@ public class BotService {
         this.torpedoCooldown = 0;
 
         this.teleporter = null;
-        this.teleporterSearchTime = 0;
         this.teleporterCooldown = 0;
-        this.hasFiredTeleporter = false;
 
         this.supernova = null;
-        this.supernovaSearchTime = 0;
-        this.hasFiredSupernova = false;
-        Vars.botService = this;
         // END RAKUS
     }
 
@@ -64,6 +88,12 @@ public class BotService {
 
     public void setBot(GameObject bot) {
         this.bot = bot;
+        // RAKUS
+        if (bot != null) {
+            this.botIdHigh = bot.idHigh;
+            this.botIdLow = bot.idLow;
+        }
+        // END RAKUS
     }
 
     public PlayerAction getPlayerAction() {
@@ -75,6 +105,43 @@ public class BotService {
     }
 
     // RAKUS
+    public TickMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    // Time budget of this bot's ticks and what gets shed to keep it
+    public TickScheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    // Priority penalty field as of the last computed tick
+    public HazardField getHazardField() {
+        return this.hazards;
+    }
+
+    public Planner getPlanner() {
+        return this.planner;
+    }
+
+    // Sets the lookahead planner that refines the selected state's movement; null keeps the greedy state choice as it is
+    public void setPlanner(Planner planner) {
+        this.planner = planner;
+    }
+
+    public ForkJoinPool getEvalPool() {
+        return this.evalPool;
+    }
+
+    // Sets the pool bot states are scored on in parallel; null scores them serially on the calling thread
+    public void setEvalPool(ForkJoinPool evalPool) {
+        this.evalPool = evalPool;
+    }
+
+    // Projectiles fired by our bot, found by their spawns
+    public ProjectileTracker getProjectiles() {
+        return this.projectiles;
+    }
+
     public BotState getBotState() {
         return this.botState;
     }
@@ -89,6 +156,10 @@ public class BotService {
 
     public void setCurrentTarget(GameObject currentTarget) {
         this.currentTarget = currentTarget;
+        if (currentTarget != null) {
+            this.targetIdHigh = currentTarget.idHigh;
+            this.targetIdLow = currentTarget.idLow;
+        }
     }
 
     public GameObject getTeleporter() {
@@ -99,13 +170,9 @@ public class BotService {
         this.teleporter = teleporter;
     }
 
-    public void fireTeleporter() {
-        this.hasFiredTeleporter = true;
-        this.teleporterSearchTime = Vars.OBJECT_SEARCH_TIME;
-    }
-
+    // Whether a teleporter was fired and has not appeared yet
     public boolean hasFiredTeleporter() {
-        return this.hasFiredTeleporter;
+        return projectiles.isPending(ObjectTypes.TELEPORTER);
     }
 
     public GameObject getSupernova() {
@@ -116,8 +183,9 @@ public class BotService {
         this.supernova = supernova;
     }
 
+    // Whether a supernova bomb was fired and has not appeared yet
     public boolean hasFiredSupernova() {
-        return this.hasFiredSupernova;
+        return projectiles.isPending(ObjectTypes.SUPERNOVA_BOMB);
     }
 
     public boolean consumeTorpedoCharge() {
@@ -135,18 +203,13 @@ public class BotService {
             return false;
 
         // Set cooldown to prevent spamming
-        hasFiredTeleporter = true;
-        teleporterSearchTime = Vars.OBJECT_SEARCH_TIME;
         teleporterCooldown = Vars.TELEPORTER_COOLDOWN_TICK;
         return true;
     }
 
     public boolean consumeSupernova() {
         // Return true if a charge is available and has not fired one already
-        if (!bot.hasSupernova() || supernova != null) return false;
-
-        hasFiredSupernova = true;
-        return true;
+        return bot.hasSupernova() && supernova == null && !projectiles.isPending(ObjectTypes.SUPERNOVA_BOMB);
     }
 
     private void update(int tick) {
@@ -154,67 +217,81 @@ public class BotService {
         if (torpedoCooldown > 0) --torpedoCooldown;
         if (teleporterCooldown > 0) --teleporterCooldown;
 
-        // Keep track of teleporter object
+        // Keep track of our projectiles; spawns are matched against the objects that appeared since the last tick
+        projectiles.update(gameState, tickDiff, tick);
+        teleporter = projectiles.latestObject(ObjectTypes.TELEPORTER);
+        supernova = projectiles.latestObject(ObjectTypes.SUPERNOVA_BOMB);
         if (teleporter != null) {
             var pos = teleporter.getPosition();
-            System.out.printf("[INFO] Tracking a teleporter object at (%d %d)%n", pos.getX(), pos.getY());
+            Log.info(LogCategory.TRACK, "Tracking a teleporter object at ({} {})").arg(pos.getX()).arg(pos.getY()).log();
         }
-        if (hasFiredTeleporter) {
-            System.out.println("[INFO] Trying to find my teleporter...");
-            teleporter = Objects.findClosest(bot, obj -> obj.getGameObjectType() == ObjectTypes.TELEPORTER);
-            if (teleporter != null) {
-                hasFiredTeleporter = false;
-                System.out.printf("[INFO] Found a teleporter towards %d%n", teleporter.currentHeading);
-                teleporterSearchTime = 0;
-            } else {
-                --teleporterSearchTime;
-                if (teleporterSearchTime == 0) {
-                    hasFiredTeleporter = false;
-                    System.out.println("[INFO] Failed to find my teleporter, stopping search");
-                }
-            }
-        }
-
-        // Keep track of supernova object
         if (supernova != null) {
             var pos = supernova.getPosition();
-            System.out.printf("[INFO] Tracking a supernova object at (%d %d)%n", pos.getX(), pos.getY());
-        }
-        if (hasFiredSupernova) {
-            System.out.println("[INFO] Trying to find my supernova...");
-            supernova = Objects.findClosest(bot, obj -> obj.getGameObjectType() == ObjectTypes.SUPERNOVA_BOMB);
-            if (supernova != null) {
-                hasFiredSupernova = false;
-                System.out.printf("[INFO] Found a supernova towards %d%n", supernova.currentHeading);
-                supernovaSearchTime = 0;
-            } else {
-                --supernovaSearchTime;
-                if (supernovaSearchTime == 0) {
-                    hasFiredSupernova = false;
-                    System.out.println("[INFO] Failed to find my supernova, this sucks");
-                }
-            }
+            Log.info(LogCategory.TRACK, "Tracking a supernova object at ({} {})").arg(pos.getX()).arg(pos.getY()).log();
         }
     }
     // END RAKUS
 
-    public void computeNextPlayerAction(PlayerAction playerAction) {
+    // Computes the action for the current tick; returns false if it was already computed for this tick (or no tick is known yet)
+    public boolean computeNextPlayerAction(PlayerAction playerAction) {
         // RAKUS
-        Optional<Integer> optionalTick = Optional.ofNullable(gameState.getWorld().getCurrentTick());
-        optionalTick.ifPresent(tick -> {
-            if (tick == lastTickUpdate) return;
-            System.out.printf("\n[TICK] Beginning of tick %d%n", tick);
-
-            // Update attributes
-            update(tick);
-
-            // Update bot state, compute action
-            botState = BotState.getNextState();
-            this.playerAction = botState.func.get(playerAction);
-            this.playerAction = BotState.ANY.func.get(playerAction);
+        Integer tick = gameState.getWorld().getCurrentTick();
+        if (tick == null || tick == lastTickUpdate) {
+            metrics.tickSkipped();
+            return false;
+        }
+        Log.info(LogCategory.TICK, "Beginning of tick {}").arg(tick).log();
+
+        // Update attributes
+        long start = System.nanoTime();
+        scheduler.beginTick(tick, start);
+        update(tick);
+        long updated = System.nanoTime();
+        metrics.record(Phase.UPDATE, updated - start);
+
+        // Project moving objects once; every state reads the same predictions
+        trajectories.update(gameState, bot);
+        long predicted = System.nanoTime();
+        metrics.record(Phase.PREDICT, predicted - updated);
+        hazards.update(gameState, bot);
+        long rasterized = System.nanoTime();
+        metrics.record(Phase.HAZARDS, rasterized - predicted);
+
+        // Update bot state, compute action; queries are shared between all states through the tick context
+        var ctx = context;
+        ctx.reset();
+        // Evaluators run on pool threads, which must not decode lazily decoded objects themselves
+        if (evalPool != null && tickDiff != null && bot != null)
+            tickDiff.decodeShared(bot.getPosition().x, bot.getPosition().y, bot.getSize(), Vars.SHARED_DECODE_RADIUS);
+        botState = BotState.getNextState(ctx, evalPool);
+        long evaluated = System.nanoTime();
+        metrics.record(Phase.EVALUATE, evaluated - rasterized);
+        // Start from IDLE's action, so a state whose action leaves it untouched never re-sends the previous tick's action (e.g. a fire)
+        BotState.IDLE.func.get(ctx, playerAction);
+        this.playerAction = botState.func.get(ctx, playerAction);
+        long acted = System.nanoTime();
+        metrics.record(Phase.ACTION, acted - evaluated);
+        // Plan where to move within the rest of the tick's budget; firing and teleporting decisions are left to the states
+        if (planner != null && playerAction.action == PlayerActions.FORWARD) {
+            planner.plan(ctx, playerAction, Math.min(start + planner.getBudgetNanos(), scheduler.deadline(Vars.SCHED_ANY_SHARE)));
+            long planned = System.nanoTime();
+            metrics.record(Phase.PLAN, planned - acted);
+            acted = planned;
+        }
+        this.playerAction = BotState.ANY.func.get(ctx, playerAction);
+        metrics.record(Phase.ANY, System.nanoTime() - acted);
+        projectiles.fired(playerAction, bot, tick);
+        if (tickDiff != null) {
+            int onDemand = tickDiff.getDecodedOnDemand();
+            metrics.decoded(tickDiff.getDecodedFully(), tickDiff.getDecodedLazily(), tickDiff.getDecodedShared(), onDemand);
+            Log.info(LogCategory.TICK, "Decoded {} objects fully, {} lazily, {} of them for sharing, {} on demand")
+                    .arg(tickDiff.getDecodedFully()).arg(tickDiff.getDecodedLazily()).arg(tickDiff.getDecodedShared()).arg(onDemand).log();
+        }
 
-            lastTickUpdate = tick;
-        });
+        metrics.tickComputed(tick, lastTickUpdate);
+        if (metrics.getTicks() % Vars.METRICS_DUMP_TICKS == 0) metrics.dump();
+        lastTickUpdate = tick;
+        return true;
         // END RAKUS
     }
 
@@ -223,15 +300,28 @@ public class BotService {
     }
 
     public void setGameState(GameState gameState) {
+        setGameState(gameState, null);
+    }
+
+    // Sets the game state together with its change feed from the previous tick (null if unknown, e.g. a state built from scratch)
+    public void setGameState(GameState gameState, TickDiff tickDiff) {
+        long start = System.nanoTime();
         this.gameState = gameState;
+        this.tickDiff = tickDiff;
+        this.gameState.ensureIndex();
         updateSelfState();
+        metrics.record(Phase.SET_STATE, System.nanoTime() - start);
+    }
+
+    public TickDiff getTickDiff() {
+        return this.tickDiff;
     }
 
     private void updateSelfState() {
-        var optionalBot = gameState.getPlayerGameObjects().stream().filter(obj -> obj.id.equals(bot.id)).findAny();
-        bot = optionalBot.orElse(null);
-        currentTarget = Objects.findSelf(currentTarget);
-        teleporter = Objects.findSelf(teleporter);
-        supernova = Objects.findSelf(supernova);
+        bot = bot != null ? gameState.getPlayerGameObject(botIdHigh, botIdLow) : null;
+        currentTarget = currentTarget != null ? gameState.getGameObject(targetIdHigh, targetIdLow) : null;
+        // Found again by the projectile tracker, which keeps their UUIDs, in update
+        teleporter = null;
+        supernova = null;
     }
 }
@@ -0,0 +1,103 @@
+package Rakus.Bench;
+
+import Enums.ObjectTypes;
+import Models.GameObject;
+import Models.PlayerAction;
+import Models.Position;
+import Models.StateFrame;
+import Rakus.Struct.WorldModel;
+import Rakus.Vars;
+import Services.BotService;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationTest {
+    // The steady-state tick path (apply a state frame, hand it to the bot, compute its action) must not allocate. The match is played
+    // once, plus the first ticks after it wraps around to its start (which replaces every object), so the pools grow to fit its largest
+    // tick; then every tick is played again and measured
+    private static final int TICKS = 3000, WARMUP_TICKS = TICKS + Vars.WORLD_MODEL_BUFFERS;
+    // Bytes a tick may allocate before it counts as allocating, to absorb noise in the allocation counter
+    private static final long TOLERANCE_BYTES = 64;
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static WorldGenerator generator;
+    private static List<StateFrame> frames;
+
+    @BeforeAll
+    static void generate() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        generator = new WorldGenerator(42, 1500, 8, 0.1, 1000);
+        var gson = new Gson();
+        frames = new ArrayList<>();
+        for (int i = 0; i < TICKS; i++)
+            frames.add(gson.fromJson(gson.toJson(generator.next()), StateFrame.class));
+    }
+
+    @Test
+    void tickPathDoesNotAllocate() {
+        var allocating = allocatingTicks(new WorldModel());
+        assertTrue(allocating.isEmpty(), "ticks that allocated: " + allocating);
+    }
+
+    @Test
+    void lazyDecodingTickPathDoesNotAllocate() {
+        var model = new WorldModel();
+        model.setInterest(300);
+        model.addInterest(generator.getPlayerId(0).getMostSignificantBits(), generator.getPlayerId(0).getLeastSignificantBits());
+        var allocating = allocatingTicks(model);
+        assertTrue(allocating.isEmpty(), "ticks that allocated: " + allocating);
+    }
+
+    // Plays the match and returns the measured ticks that allocated, as "tick: bytes" pairs
+    private static String allocatingTicks(WorldModel model) {
+        UUID botId = generator.getPlayerId(0);
+        var botService = new BotService();
+        botService.setBot(new GameObject(botId, 10, 20, 0, new Position(), ObjectTypes.PLAYER, 0, 0, false, 0, 0));
+        var action = new PlayerAction();
+        action.playerId = botId;
+
+        for (int i = 0; i < WARMUP_TICKS; i++) tick(model, botService, action, i % TICKS);
+
+        // What reading the allocation counter costs by itself
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+
+        var bytes = new long[TICKS];
+        for (int i = WARMUP_TICKS; i < WARMUP_TICKS + TICKS; i++) {
+            long before = allocatedBytes();
+            tick(model, botService, action, i % TICKS);
+            bytes[i % TICKS] = allocatedBytes() - before - overhead;
+        }
+
+        var allocating = new StringBuilder();
+        for (int i = 0; i < TICKS; i++) {
+            if (bytes[i] <= TOLERANCE_BYTES) continue;
+            if (allocating.length() > 0) allocating.append(", ");
+            allocating.append(i).append(": ").append(bytes[i]);
+        }
+        return allocating.toString();
+    }
+
+    private static void tick(WorldModel model, BotService botService, PlayerAction action, int i) {
+        var state = model.apply(frames.get(i));
+        botService.setGameState(state, model.getLastDiff());
+        botService.computeNextPlayerAction(action);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
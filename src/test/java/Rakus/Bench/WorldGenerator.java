@@ -0,0 +1,154 @@
+package Rakus.Bench;
+
+import Enums.ObjectTypes;
+import Models.GameStateDto;
+import Models.Position;
+import Models.World;
+import Rakus.Vars;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+public class WorldGenerator {
+    // Seeded synthetic world for benchmarks; produces game states in the hub's wire form (GameStateDto) and evolves them tick by tick
+    // so consecutive states share most objects, like real matches do
+    private final Random random;
+    private final int objectCount;
+    private final int playerCount;
+    private final double hazardDensity;
+    private final int worldRadius;
+
+    private final List<Synthetic> objects;
+    private final List<Synthetic> players;
+    private int tick;
+
+    private static class Synthetic {
+        final String id;
+        int[] attribs;
+
+        Synthetic(String id, int[] attribs) {
+            this.id = id;
+            this.attribs = attribs;
+        }
+    }
+
+    public WorldGenerator(long seed, int objectCount, int playerCount, double hazardDensity, int worldRadius) {
+        this.random = new Random(seed);
+        this.objectCount = objectCount;
+        this.playerCount = playerCount;
+        this.hazardDensity = hazardDensity;
+        this.worldRadius = worldRadius;
+        this.objects = new ArrayList<>();
+        this.players = new ArrayList<>();
+        this.tick = 0;
+
+        for (int i = 0; i < objectCount; i++)
+            objects.add(spawnObject());
+        for (int i = 0; i < playerCount; i++)
+            players.add(spawnPlayer());
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    // Returns the UUID of the i-th generated player, e.g. to register a bot as one of them
+    public UUID getPlayerId(int i) {
+        return UUID.fromString(players.get(i).id);
+    }
+
+    // Returns the current state, then advances the world by one tick
+    public GameStateDto next() {
+        var dto = current();
+        step();
+        return dto;
+    }
+
+    public GameStateDto current() {
+        var world = new World();
+        world.setCenterPoint(new Position(0, 0));
+        world.setRadius(worldRadius);
+        world.setCurrentTick(tick);
+
+        var dto = new GameStateDto();
+        dto.setWorld(world);
+        dto.setGameObjects(toMap(objects));
+        dto.setPlayerObjects(toMap(players));
+        return dto;
+    }
+
+    private void step() {
+        ++tick;
+        // Moving objects drift along their heading; a few static objects are consumed and respawned elsewhere
+        for (int i = 0; i < objects.size(); i++) {
+            var obj = objects.get(i);
+            if (obj.attribs[1] > 0) move(obj);
+            else if (random.nextDouble() < 0.02) objects.set(i, spawnObject());
+        }
+        for (var player : players) {
+            if (random.nextDouble() < 0.1) player.attribs[2] = random.nextInt(360);
+            move(player);
+        }
+    }
+
+    private void move(Synthetic obj) {
+        double rad = Math.toRadians(obj.attribs[2]);
+        obj.attribs[4] += (int) Math.round(obj.attribs[1] * Math.cos(rad));
+        obj.attribs[5] += (int) Math.round(obj.attribs[1] * Math.sin(rad));
+        // Bounce back towards the center instead of leaving the world
+        if (Math.hypot(obj.attribs[4], obj.attribs[5]) > worldRadius)
+            obj.attribs[2] = (obj.attribs[2] + 180) % 360;
+    }
+
+    private Synthetic spawnObject() {
+        ObjectTypes type;
+        double roll = random.nextDouble();
+        if (roll < hazardDensity / 2) type = ObjectTypes.GAS_CLOUD;
+        else if (roll < hazardDensity) type = ObjectTypes.ASTEROID_FIELD;
+        else if (roll < hazardDensity + 0.02) type = ObjectTypes.TORPEDO_SALVO;
+        else if (roll < hazardDensity + 0.03) type = ObjectTypes.WORMHOLE;
+        else if (roll < hazardDensity + 0.08) type = ObjectTypes.SUPERFOOD;
+        else type = ObjectTypes.FOOD;
+
+        int size = type == ObjectTypes.GAS_CLOUD || type == ObjectTypes.ASTEROID_FIELD ? 20 + random.nextInt(40) : (type == ObjectTypes.TORPEDO_SALVO ? 10 : 3);
+        int speed = type == ObjectTypes.TORPEDO_SALVO ? 20 : 0;
+        var pos = randomPosition();
+        return new Synthetic(new UUID(random.nextLong(), random.nextLong()).toString(), new int[]{size, speed, random.nextInt(360), type.value, pos.x, pos.y});
+    }
+
+    private Synthetic spawnPlayer() {
+        var pos = randomPosition();
+        var attribs = new int[Vars.PLAYER_ATTRIB_COUNT];
+        attribs[0] = 10 + random.nextInt(60);
+        attribs[1] = 20;
+        attribs[2] = random.nextInt(360);
+        attribs[3] = ObjectTypes.PLAYER.value;
+        attribs[4] = pos.x;
+        attribs[5] = pos.y;
+        attribs[6] = 0;
+        attribs[7] = random.nextInt(5);
+        attribs[8] = random.nextInt(4) == 0 ? 1 : 0;
+        attribs[9] = random.nextInt(3);
+        attribs[10] = random.nextInt(2);
+        return new Synthetic(new UUID(random.nextLong(), random.nextLong()).toString(), attribs);
+    }
+
+    private Position randomPosition() {
+        double r = worldRadius * Math.sqrt(random.nextDouble()), a = 2 * Math.PI * random.nextDouble();
+        return new Position((int) (r * Math.cos(a)), (int) (r * Math.sin(a)));
+    }
+
+    private static Map<String, List<Integer>> toMap(List<Synthetic> synthetics) {
+        var map = new LinkedHashMap<String, List<Integer>>();
+        for (var obj : synthetics) {
+            var list = new ArrayList<Integer>(obj.attribs.length);
+            for (int value : obj.attribs) list.add(value);
+            map.put(obj.id, list);
+        }
+        return map;
+    }
+}